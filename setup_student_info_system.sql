@@ -87,4 +87,7 @@ END$$
 
 DELIMITER ;
 
+-- Secondary indexes are not created here: the application applies the versioned migrations in
+-- src/main/resources/db/migration at startup (or run com.studentinfo.migration.MigrationRunner).
+
 -- End of script 
\ No newline at end of file
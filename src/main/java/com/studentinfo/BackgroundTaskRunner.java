@@ -0,0 +1,157 @@
+package com.studentinfo;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Runs database work off the Swing event dispatch thread and hands results back on it.
+ * Queries show progress in the status bar and can be cancelled from there; updates also block
+ * mouse input to the window until they finish so a slow save can't be submitted twice.
+ */
+class BackgroundTaskRunner {
+    private final JPanel statusBar;
+    private final JLabel statusLabel;
+    private final JProgressBar progressBar;
+    private final JButton cancelButton;
+    private final JComponent inputBlocker;
+
+    // Only touched on the EDT
+    private final Set<SwingWorker<?, ?>> runningQueries = new LinkedHashSet<>();
+    private int runningUpdates;
+
+    public BackgroundTaskRunner(JFrame frame) {
+        statusBar = new JPanel(new BorderLayout(5, 0));
+        statusBar.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 5));
+        statusLabel = new JLabel(" ");
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> cancelQueries());
+
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        progressPanel.add(progressBar);
+        progressPanel.add(cancelButton);
+        statusBar.add(statusLabel, BorderLayout.CENTER);
+        statusBar.add(progressPanel, BorderLayout.EAST);
+
+        // Glass pane that swallows mouse clicks while an update is in flight
+        inputBlocker = new JComponent() { };
+        inputBlocker.addMouseListener(new MouseAdapter() { });
+        inputBlocker.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        frame.setGlassPane(inputBlocker);
+    }
+
+    public JComponent getStatusBar() {
+        return statusBar;
+    }
+
+    /**
+     * Runs a read-only query. The returned worker can be cancelled to discard a stale result.
+     */
+    public <T> SwingWorker<T, Void> runQuery(Component owner, String description, Callable<T> query, Consumer<T> onSuccess) {
+        return start(owner, description, query, onSuccess, null, false);
+    }
+
+    public <T> SwingWorker<T, Void> runQuery(Component owner, String description, Callable<T> query,
+                                            Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        return start(owner, description, query, onSuccess, onFailure, false);
+    }
+
+    /**
+     * Runs a write. Updates are not cancellable because the database may already have applied them.
+     */
+    public <T> void runUpdate(Component owner, String description, Callable<T> update, Consumer<T> onSuccess) {
+        start(owner, description, update, onSuccess, null, true);
+    }
+
+    public <T> void runUpdate(Component owner, String description, Callable<T> update,
+                              Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        start(owner, description, update, onSuccess, onFailure, true);
+    }
+
+    public void cancelQueries() {
+        for (SwingWorker<?, ?> worker : new LinkedHashSet<>(runningQueries)) {
+            worker.cancel(true);
+        }
+    }
+
+    private <T> SwingWorker<T, Void> start(Component owner, String description, Callable<T> work,
+                                          Consumer<T> onSuccess, Consumer<Exception> onFailure, boolean update) {
+        SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void done() {
+                finished(this, update);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    // Unwrap failures surfaced through CompletableFuture.join()
+                    while (cause instanceof CompletionException && cause.getCause() != null) {
+                        cause = cause.getCause();
+                    }
+                    Exception failure = cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+                    if (onFailure != null) {
+                        onFailure.accept(failure);
+                    } else {
+                        showError(owner, failure);
+                    }
+                }
+            }
+        };
+        if (update) {
+            runningUpdates++;
+        } else {
+            runningQueries.add(worker);
+        }
+        statusLabel.setText(description);
+        refreshIndicators();
+        worker.execute();
+        return worker;
+    }
+
+    private void finished(SwingWorker<?, ?> worker, boolean update) {
+        if (update) {
+            runningUpdates--;
+        } else {
+            runningQueries.remove(worker);
+        }
+        if (runningUpdates == 0 && runningQueries.isEmpty()) {
+            statusLabel.setText(" ");
+        }
+        refreshIndicators();
+    }
+
+    private void refreshIndicators() {
+        boolean busy = runningUpdates > 0 || !runningQueries.isEmpty();
+        progressBar.setVisible(busy);
+        cancelButton.setEnabled(!runningQueries.isEmpty());
+        inputBlocker.setVisible(runningUpdates > 0);
+    }
+
+    private static void showError(Component owner, Exception e) {
+        if (e instanceof IllegalArgumentException) {
+            JOptionPane.showMessageDialog(owner, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(owner, "Database error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
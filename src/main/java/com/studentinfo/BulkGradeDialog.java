@@ -0,0 +1,226 @@
+package com.studentinfo;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.studentinfo.dao.BulkGradeResult;
+
+/**
+ * Grade entry for a whole course section. The roster is loaded or pasted (student ID and grade per
+ * line, tab or comma separated), edited in the table and submitted as one batched transaction.
+ */
+class BulkGradeDialog extends JDialog {
+    private static final int STUDENT_ID_COLUMN = 0;
+    private static final int GRADE_COLUMN = 2;
+
+    private MainFrame mainFrame;
+    private String[] grades;
+    private JTextField courseIdField;
+    private JComboBox<String> yearCombo, semesterCombo;
+    private JButton loadRosterButton, pasteButton, submitButton, closeButton;
+    private JTable rosterTable;
+    private DefaultTableModel tableModel;
+    private JLabel statusLabel;
+
+    public BulkGradeDialog(MainFrame mainFrame, String[] years, String[] semesters, String[] grades) {
+        super(mainFrame, "Bulk Grade Entry", true);
+        this.mainFrame = mainFrame;
+        this.grades = grades;
+        setupUI(years, semesters);
+        setSize(600, 500);
+        setLocationRelativeTo(mainFrame);
+    }
+
+    private void setupUI(String[] years, String[] semesters) {
+        setLayout(new BorderLayout());
+
+        // Section selection
+        JPanel sectionPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 5));
+        sectionPanel.add(new JLabel("Course ID:"));
+        courseIdField = new JTextField(8);
+        sectionPanel.add(courseIdField);
+        sectionPanel.add(new JLabel("Year:"));
+        yearCombo = new JComboBox<>(years);
+        sectionPanel.add(yearCombo);
+        sectionPanel.add(new JLabel("Semester:"));
+        semesterCombo = new JComboBox<>(semesters);
+        sectionPanel.add(semesterCombo);
+        loadRosterButton = new JButton("Load Roster");
+        sectionPanel.add(loadRosterButton);
+        pasteButton = new JButton("Paste Grades");
+        sectionPanel.add(pasteButton);
+
+        // Roster table; only the grade column is editable
+        String[] columnNames = {"Std ID", "Student Name", "Grade"};
+        tableModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return column == GRADE_COLUMN;
+            }
+        };
+        rosterTable = new JTable(tableModel);
+        rosterTable.getColumnModel().getColumn(GRADE_COLUMN).setCellEditor(new DefaultCellEditor(new JComboBox<>(grades)));
+
+        JPanel buttonPanel = new JPanel(new BorderLayout());
+        statusLabel = new JLabel(" ");
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 0));
+        JPanel actionPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        submitButton = new JButton("Submit Grades");
+        closeButton = new JButton("Close");
+        actionPanel.add(submitButton);
+        actionPanel.add(closeButton);
+        buttonPanel.add(statusLabel, BorderLayout.CENTER);
+        buttonPanel.add(actionPanel, BorderLayout.EAST);
+
+        add(sectionPanel, BorderLayout.NORTH);
+        add(new JScrollPane(rosterTable), BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        loadRosterButton.addActionListener(e -> loadRoster());
+        pasteButton.addActionListener(e -> pasteGrades());
+        submitButton.addActionListener(e -> submitGrades());
+        closeButton.addActionListener(e -> dispose());
+    }
+
+    public void setSection(String courseId, Object year, Object semester) {
+        courseIdField.setText(courseId);
+        yearCombo.setSelectedItem(year);
+        semesterCombo.setSelectedItem(semester);
+    }
+
+    private Integer readCourseId() {
+        String courseIdText = courseIdField.getText().trim();
+        try {
+            return Integer.parseInt(courseIdText);
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a numeric Course ID.", "Error", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+    }
+
+    private void loadRoster() {
+        Integer courseId = readCourseId();
+        if (courseId == null) {
+            return;
+        }
+        String year = yearCombo.getSelectedItem().toString();
+        String semester = semesterCombo.getSelectedItem().toString();
+
+        mainFrame.getTaskRunner().runQuery(this, "Loading roster for course " + courseId + "...",
+                () -> mainFrame.getCourseRoster(courseId, year, semester), roster -> {
+            tableModel.setRowCount(0);
+            for (RosterEntry entry : roster) {
+                tableModel.addRow(new Object[]{
+                    entry.getStudentId(),
+                    entry.getStudentName(),
+                    entry.getGrade() != null ? entry.getGrade() : ""
+                });
+            }
+            statusLabel.setText(roster.isEmpty() ? "No students enrolled in this section." : roster.size() + " students loaded.");
+        });
+    }
+
+    private void pasteGrades() {
+        String text;
+        try {
+            text = (String) Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor);
+        } catch (UnsupportedFlavorException | IOException | IllegalStateException e) {
+            JOptionPane.showMessageDialog(this, "The clipboard does not contain text.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        List<String> rejectedLines = new ArrayList<>();
+        List<String> gradeList = Arrays.asList(grades);
+        int applied = 0;
+        boolean firstLine = true;
+        for (String line : text.split("\\r?\\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split("[\\t,]");
+            String grade = fields.length > 1 ? fields[fields.length - 1].trim().toUpperCase() : "";
+            int studentId;
+            try {
+                studentId = Integer.parseInt(fields[0].trim());
+            } catch (NumberFormatException e) {
+                // A header row copied from a spreadsheet is skipped quietly
+                if (!firstLine) {
+                    rejectedLines.add(line);
+                }
+                firstLine = false;
+                continue;
+            }
+            firstLine = false;
+            if (!gradeList.contains(grade)) {
+                rejectedLines.add(line);
+                continue;
+            }
+            setGrade(studentId, grade);
+            applied++;
+        }
+
+        statusLabel.setText(applied + " grades pasted.");
+        if (!rejectedLines.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                "These lines were not recognised (expected student ID and grade):\n" + String.join("\n", rejectedLines),
+                "Paste Grades", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    private void setGrade(int studentId, String grade) {
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            if (((Integer) tableModel.getValueAt(row, STUDENT_ID_COLUMN)) == studentId) {
+                tableModel.setValueAt(grade, row, GRADE_COLUMN);
+                return;
+            }
+        }
+        // Not on the loaded roster; submit will report it if there is no enrollment
+        tableModel.addRow(new Object[]{studentId, "", grade});
+    }
+
+    private void submitGrades() {
+        if (rosterTable.isEditing()) {
+            rosterTable.getCellEditor().stopCellEditing();
+        }
+        Integer courseId = readCourseId();
+        if (courseId == null) {
+            return;
+        }
+        if (tableModel.getRowCount() == 0) {
+            JOptionPane.showMessageDialog(this, "Load the roster or paste grades first.", "Info", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        String year = yearCombo.getSelectedItem().toString();
+        String semester = semesterCombo.getSelectedItem().toString();
+
+        Map<Integer, String> gradesByStudentId = new LinkedHashMap<>();
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            Object grade = tableModel.getValueAt(row, GRADE_COLUMN);
+            gradesByStudentId.put((Integer) tableModel.getValueAt(row, STUDENT_ID_COLUMN), grade != null ? grade.toString() : "");
+        }
+
+        mainFrame.getTaskRunner().runUpdate(this, "Submitting " + gradesByStudentId.size() + " grades...",
+                () -> mainFrame.updateGradesInDB(courseId, year, semester, gradesByStudentId), this::showResult);
+    }
+
+    private void showResult(BulkGradeResult result) {
+        List<Integer> unmatched = result.getUnmatchedStudentIds();
+        statusLabel.setText(result.getUpdatedCount() + " grades saved.");
+        if (unmatched.isEmpty()) {
+            JOptionPane.showMessageDialog(this, result.getUpdatedCount() + " grades saved.", "Success", JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(this,
+                result.getUpdatedCount() + " grades saved.\n"
+                    + "No enrollment in this section for student IDs: " + unmatched,
+                "Some Grades Not Saved", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+}
@@ -6,6 +6,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.List;
 import com.studentinfo.dao.CourseDAO;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.DepartmentChanged;
+import com.studentinfo.event.ProfessorChanged;
 
 /**
  * Course management panel with department-based professor filtering.
@@ -22,12 +25,17 @@ class CoursePanel extends JPanel {
     private JButton addButton, searchButton, editButton, resetButton;
     private JLabel statusLabel;
     private int currentCourseId = -1;
+    private SwingWorker<?, ?> professorLoad;
+    private Integer pendingProfessorId; // Professor to select once the pending professor list arrives
 
     public CoursePanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.courseDAO = new CourseDAO();
         setupUI();
         resetFields();
+        // Reference data is already current when these arrive; only the combos need refilling
+        ChangeBus.get().subscribeCoalesced(DepartmentChanged.class, SwingUtilities::invokeLater, batch -> updateDepartmentCombo());
+        ChangeBus.get().subscribeCoalesced(ProfessorChanged.class, SwingUtilities::invokeLater, batch -> updateProfessorCombo());
     }
 
     private void setupUI() {
@@ -92,44 +100,89 @@ class CoursePanel extends JPanel {
         resetButton.addActionListener(e -> resetFields());
     }
 
-    public void updateDepartmentCombo() {
+    private void updateDepartmentCombo() {
+        if (mainFrame.isReferenceDataLoaded()) {
+            fillDepartmentCombo(mainFrame.getDepartments()); // Already in memory
+        } else {
+            mainFrame.getTaskRunner().runQuery(this, "Loading departments...", mainFrame::getDepartments, this::fillDepartmentCombo);
+        }
+    }
+
+    private void fillDepartmentCombo(List<Department> departments) {
         Department selectedItem = (Department) departmentCombo.getSelectedItem();
         departmentCombo.removeAllItems();
-        List<Department> departments = mainFrame.getDepartments();
         if (departments != null) {
             for (Department dept : departments) {
                 departmentCombo.addItem(dept);
             }
         }
         if (selectedItem != null) {
-            for (int i = 0; i < departmentCombo.getItemCount(); i++) {
-                if (departmentCombo.getItemAt(i).getId() == selectedItem.getId()) {
-                    departmentCombo.setSelectedIndex(i);
-                    break;
-                }
-            }
+            selectDepartment(selectedItem.getId());
         }
         updateProfessorCombo();
     }
 
-    public void updateProfessorCombo() {
+    private void updateProfessorCombo() {
         Professor selectedProf = (Professor) professorCombo.getSelectedItem();
         professorCombo.removeAllItems();
+        if (professorLoad != null) {
+            professorLoad.cancel(true); // A newer department selection supersedes the pending load
+            professorLoad = null;
+        }
         Department selectedDepartment = (Department) departmentCombo.getSelectedItem();
         if (selectedDepartment != null) {
-            List<Professor> professors = mainFrame.getProfessorsByDepartment(selectedDepartment.getId());
-            if (professors != null) {
-                for (Professor prof : professors) {
-                    professorCombo.addItem(prof);
-                }
+            int deptId = selectedDepartment.getId();
+            Integer profIdToSelect = pendingProfessorId;
+            if (profIdToSelect == null && selectedProf != null && deptId == selectedProf.getDept_id()) {
+                profIdToSelect = selectedProf.getProf_id();
             }
-            if (selectedProf != null && selectedDepartment.getId() == selectedProf.getDept_id()) {
-                for (int i = 0; i < professorCombo.getItemCount(); i++) {
-                    if (professorCombo.getItemAt(i).getProf_id() == selectedProf.getProf_id()) {
-                        professorCombo.setSelectedIndex(i);
-                        break;
-                    }
-                }
+            Integer keepProfId = profIdToSelect;
+            if (mainFrame.isReferenceDataLoaded()) {
+                // Already in memory, so fill the combo right away
+                pendingProfessorId = null;
+                fillProfessorCombo(mainFrame.getProfessorsByDepartment(deptId), keepProfId);
+                return;
+            }
+            pendingProfessorId = keepProfId; // Carried over if this load is superseded before it finishes
+            professorLoad = mainFrame.getTaskRunner().runQuery(this, "Loading professors...",
+                    () -> mainFrame.getProfessorsByDepartment(deptId), professors -> {
+                professorLoad = null;
+                pendingProfessorId = null;
+                fillProfessorCombo(professors, keepProfId);
+            });
+        }
+    }
+
+    private void fillProfessorCombo(List<Professor> professors, Integer profIdToSelect) {
+        professorCombo.removeAllItems();
+        if (professors != null) {
+            for (Professor prof : professors) {
+                professorCombo.addItem(prof);
+            }
+        }
+        if (profIdToSelect != null) {
+            selectProfessor(profIdToSelect);
+        }
+    }
+
+    private void selectDepartment(int deptId) {
+        for (int i = 0; i < departmentCombo.getItemCount(); i++) {
+            if (departmentCombo.getItemAt(i).getId() == deptId) {
+                departmentCombo.setSelectedIndex(i);
+                break;
+            }
+        }
+    }
+
+    private void selectProfessor(int profId) {
+        if (profId == 0 || profId == -1) {
+            professorCombo.setSelectedIndex(-1);
+            return;
+        }
+        for (int i = 0; i < professorCombo.getItemCount(); i++) {
+            if (professorCombo.getItemAt(i) != null && professorCombo.getItemAt(i).getProf_id() == profId) {
+                professorCombo.setSelectedIndex(i);
+                break;
             }
         }
     }
@@ -159,20 +212,22 @@ class CoursePanel extends JPanel {
             return;
         }
 
-        if (courseDAO.getCourseByCourseNumber(courseNumber) != null) {
-            JOptionPane.showMessageDialog(this, "Course Number already exists.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
         Course newCourse = new Course(0, courseNumber, courseName, credits, selectedDepartment.getId(), selectedProfessor != null ? selectedProfessor.getProf_id() : 0);
 
-        if (courseDAO.addCourse(newCourse)) {
-            currentCourseId = newCourse.getId();
-            JOptionPane.showMessageDialog(this, "Course added successfully. DB ID: " + currentCourseId, "Success", JOptionPane.INFORMATION_MESSAGE);
-            resetFields();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to add course.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        mainFrame.getTaskRunner().runUpdate(this, "Adding course...", () -> {
+            if (courseDAO.getCourseByCourseNumber(courseNumber) != null) {
+                throw new IllegalArgumentException("Course Number already exists.");
+            }
+            return mainFrame.addCourse(newCourse);
+        }, added -> {
+            if (added) {
+                currentCourseId = newCourse.getId();
+                JOptionPane.showMessageDialog(this, "Course added successfully. DB ID: " + currentCourseId, "Success", JOptionPane.INFORMATION_MESSAGE);
+                resetFields();
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to add course.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void searchCourseByNumber() {
@@ -182,18 +237,18 @@ class CoursePanel extends JPanel {
             return;
         }
 
-        Course course = courseDAO.getCourseByCourseNumber(courseNumber);
-
-        if (course != null) {
-            populateFields(course);
-            statusLabel.setText("Course found: " + course.getCourseNumber());
-            courseNumberField.setEditable(false);
-            addButton.setEnabled(false);
-            editButton.setEnabled(true);
-        } else {
-            JOptionPane.showMessageDialog(this, "Course Number not found.", "Error", JOptionPane.ERROR_MESSAGE);
-            resetFields();
-        }
+        mainFrame.getTaskRunner().runQuery(this, "Searching for course " + courseNumber + "...", () -> courseDAO.getCourseByCourseNumber(courseNumber), course -> {
+            if (course != null) {
+                populateFields(course);
+                statusLabel.setText("Course found: " + course.getCourseNumber());
+                courseNumberField.setEditable(false);
+                addButton.setEnabled(false);
+                editButton.setEnabled(true);
+            } else {
+                JOptionPane.showMessageDialog(this, "Course Number not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                resetFields();
+            }
+        });
     }
 
     private void populateFields(Course course) {
@@ -202,27 +257,10 @@ class CoursePanel extends JPanel {
         courseNameField.setText(course.getCourseName());
         creditsField.setText(String.valueOf(course.getCredits()));
 
-        Department courseDept = mainFrame.findDepartmentById(course.getDepartmentId());
-        if (courseDept != null) {
-            for (int i = 0; i < departmentCombo.getItemCount(); i++) {
-                if (departmentCombo.getItemAt(i).getId() == courseDept.getId()) {
-                    departmentCombo.setSelectedIndex(i);
-                    break;
-                }
-            }
-        }
-
-        Professor courseProf = mainFrame.findProfessorById(course.getProfessorId());
-        if (courseProf != null) {
-            for (int i = 0; i < professorCombo.getItemCount(); i++) {
-                if (professorCombo.getItemAt(i) != null && professorCombo.getItemAt(i).getProf_id() == course.getProfessorId()) {
-                    professorCombo.setSelectedIndex(i);
-                    break;
-                }
-            }
-        } else if (course.getProfessorId() == 0 || course.getProfessorId() == -1) {
-            professorCombo.setSelectedIndex(-1);
-        }
+        // Department and professor combos already hold the candidates, so select by ID locally.
+        // The professor list reloads for the new department and picks this one when it arrives.
+        pendingProfessorId = course.getProfessorId();
+        selectDepartment(course.getDepartmentId());
     }
 
     private void editCourse() {
@@ -255,20 +293,22 @@ class CoursePanel extends JPanel {
             return;
         }
 
-        Course existingCourseWithSameNumber = courseDAO.getCourseByCourseNumber(courseNumber);
-        if (existingCourseWithSameNumber != null && existingCourseWithSameNumber.getId() != currentCourseId) {
-            JOptionPane.showMessageDialog(this, "Another course with this Course Number already exists.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
         Course courseToUpdate = new Course(currentCourseId, courseNumber, courseName, credits, selectedDepartment.getId(), selectedProfessor != null ? selectedProfessor.getProf_id() : 0);
 
-        if (courseDAO.updateCourse(courseToUpdate)) {
-            JOptionPane.showMessageDialog(this, "Course updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            resetFields();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to update course.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        mainFrame.getTaskRunner().runUpdate(this, "Updating course...", () -> {
+            Course existingCourseWithSameNumber = courseDAO.getCourseByCourseNumber(courseNumber);
+            if (existingCourseWithSameNumber != null && existingCourseWithSameNumber.getId() != courseToUpdate.getId()) {
+                throw new IllegalArgumentException("Another course with this Course Number already exists.");
+            }
+            return mainFrame.updateCourse(courseToUpdate);
+        }, updated -> {
+            if (updated) {
+                JOptionPane.showMessageDialog(this, "Course updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                resetFields();
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to update course.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void resetFields() {
@@ -1,29 +1,36 @@
 package com.studentinfo;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 import com.studentinfo.dao.DepartmentDAO;
+import com.studentinfo.event.ChangeBatch;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.DepartmentChanged;
 
 /**
  * Department management panel with department ID, name, location, and phone input.
  * Handles adding, editing, and searching department records and displays them in a JTable.
  */
 class DepartmentPanel extends JPanel {
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 20;
+
     private MainFrame mainFrame;
     private DepartmentDAO departmentDAO;
     private JTextField idField, nameField, locationField, phoneField;
     private JButton addButton, searchButton, editButton, deleteButton, resetButton;
     private JLabel statusLabel;
     private JTable departmentTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<Department> tableModel;
+    private SwingWorker<?, ?> pendingRefresh;
 
     public DepartmentPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.departmentDAO = new DepartmentDAO(); // Initialize DepartmentDAO
         setupUI();
         refreshDepartmentTable(); // Load initial data
+        ChangeBus.get().subscribeCoalesced(DepartmentChanged.class, SwingUtilities::invokeLater, this::departmentsChanged);
     }
 
     private void setupUI() {
@@ -54,12 +61,15 @@ class DepartmentPanel extends JPanel {
         JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setBorder(BorderFactory.createTitledBorder("Departments"));
         String[] columnNames = {"ID", "Name", "Location", "Phone"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table cells not editable
+        tableModel = new LazyTableModel<>(columnNames, (dept, column) -> {
+            switch (column) {
+                case 0: return dept.getId();
+                case 1: return dept.getName();
+                case 2: return dept.getLocation();
+                default: return dept.getPhone();
             }
-        };
+        }, PAGE_SIZE, CACHED_PAGES);
+        tableModel.setErrorHandler(e -> JOptionPane.showMessageDialog(this, "Database error while loading departments: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE));
         departmentTable = new JTable(tableModel);
         departmentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         departmentTable.getSelectionModel().addListSelectionListener(e -> {
@@ -105,23 +115,49 @@ class DepartmentPanel extends JPanel {
 
     private void populateFieldsFromSelectedRow() {
         int selectedRow = departmentTable.getSelectedRow();
-        if (selectedRow >= 0) {
-            idField.setText(tableModel.getValueAt(selectedRow, 0).toString());
-            nameField.setText(tableModel.getValueAt(selectedRow, 1).toString());
-            locationField.setText(tableModel.getValueAt(selectedRow, 2).toString());
-            phoneField.setText(tableModel.getValueAt(selectedRow, 3).toString());
+        Department department = selectedRow >= 0 ? tableModel.getRow(selectedRow) : null;
+        if (department != null) {
+            idField.setText(String.valueOf(department.getId()));
+            nameField.setText(department.getName());
+            locationField.setText(department.getLocation());
+            phoneField.setText(department.getPhone());
             statusLabel.setText("Selected Department ID: " + idField.getText());
             idField.setEditable(false); // ID is not editable directly
         }
     }
 
+    // Only the row count is fetched here; the table loads the rows it displays as it scrolls
     public void refreshDepartmentTable() {
-        tableModel.setRowCount(0); // Clear existing data
-        List<Department> departments = departmentDAO.getAllDepartments();
-        for (Department dept : departments) {
-            tableModel.addRow(new Object[]{dept.getId(), dept.getName(), dept.getLocation(), dept.getPhone()});
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(true);
         }
-        statusLabel.setText("Table refreshed. " + departments.size() + " departments.");
+        pendingRefresh = mainFrame.getTaskRunner().runQuery(this, "Loading departments...", departmentDAO::countDepartments, count -> {
+            tableModel.reset(count, departmentDAO::getDepartmentsPage);
+            statusLabel.setText("Table refreshed. " + count + " departments.");
+        });
+    }
+
+    // Applies committed changes to the rows already on screen instead of reloading the table
+    private void departmentsChanged(ChangeBatch<DepartmentChanged> batch) {
+        if (batch.isOverflow()) {
+            refreshDepartmentTable();
+            return;
+        }
+        int added = 0;
+        for (DepartmentChanged change : batch.getEvents()) {
+            switch (change.getType()) {
+                case ADDED:
+                    added++;
+                    break;
+                case UPDATED:
+                    tableModel.updateLoadedRows(dept -> dept.getId() == change.getId() ? change.getEntity() : dept);
+                    break;
+                default:
+                    tableModel.removeRow(dept -> dept.getId() == change.getId());
+                    break;
+            }
+        }
+        tableModel.addRows(added);
     }
 
     private void addDepartment() {
@@ -135,16 +171,12 @@ class DepartmentPanel extends JPanel {
         }
 
         Department department = new Department(0, name, location, phone); // ID is 0 as it's auto-generated
-        try {
-            if (departmentDAO.addDepartment(department)) {
+        mainFrame.getTaskRunner().runUpdate(this, "Adding department...", () -> mainFrame.addDepartment(department), added -> {
+            if (added) {
                 JOptionPane.showMessageDialog(this, "Department added successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshDepartmentTable();
-                mainFrame.refreshDepartmentCombos(); // Update combos in other panels
                 resetFields();
             }
-        } catch (IllegalArgumentException e) {
-            JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void searchDepartment() {
@@ -153,26 +185,24 @@ class DepartmentPanel extends JPanel {
 
         try {
             int id = Integer.parseInt(idText.trim());
-            Department department = departmentDAO.getDepartmentById(id);
-
-            if (department != null) {
-                idField.setText(String.valueOf(department.getId()));
-                nameField.setText(department.getName());
-                locationField.setText(department.getLocation());
-                phoneField.setText(department.getPhone());
-                statusLabel.setText("Department ID " + id + " found.");
-                // Select in table if present
-                for (int i = 0; i < tableModel.getRowCount(); i++) {
-                    if (tableModel.getValueAt(i, 0).equals(id)) {
-                        departmentTable.setRowSelectionInterval(i, i);
-                        departmentTable.scrollRectToVisible(departmentTable.getCellRect(i, 0, true));
-                        break;
+            mainFrame.getTaskRunner().runQuery(this, "Searching for department " + id + "...", () -> mainFrame.findDepartmentById(id), department -> {
+                if (department != null) {
+                    idField.setText(String.valueOf(department.getId()));
+                    nameField.setText(department.getName());
+                    locationField.setText(department.getLocation());
+                    phoneField.setText(department.getPhone());
+                    statusLabel.setText("Department ID " + id + " found.");
+                    // Select in table if its page is loaded; scanning the whole table would fetch every page
+                    int row = tableModel.findLoadedRow(dept -> dept.getId() == id);
+                    if (row != -1) {
+                        departmentTable.setRowSelectionInterval(row, row);
+                        departmentTable.scrollRectToVisible(departmentTable.getCellRect(row, 0, true));
                     }
+                } else {
+                    JOptionPane.showMessageDialog(this, "Department ID " + id + " not found.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
+                    statusLabel.setText("Department ID " + id + " not found.");
                 }
-            } else {
-                JOptionPane.showMessageDialog(this, "Department ID " + id + " not found.", "Search Result", JOptionPane.INFORMATION_MESSAGE);
-                statusLabel.setText("Department ID " + id + " not found.");
-            }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID format. Please enter a number.", "Input Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -197,14 +227,14 @@ class DepartmentPanel extends JPanel {
             }
 
             Department department = new Department(id, name, location, phone);
-            if (departmentDAO.updateDepartment(department)) {
-                JOptionPane.showMessageDialog(this, "Department updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshDepartmentTable();
-                mainFrame.refreshDepartmentCombos();
-                resetFields();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to update department. It might not exist or a database error occurred.", "Database Error", JOptionPane.ERROR_MESSAGE);
-            }
+            mainFrame.getTaskRunner().runUpdate(this, "Updating department...", () -> mainFrame.updateDepartment(department), updated -> {
+                if (updated) {
+                    JOptionPane.showMessageDialog(this, "Department updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    resetFields();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to update department. It might not exist or a database error occurred.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID in the ID field. This should not happen if selected from table.", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -230,14 +260,14 @@ class DepartmentPanel extends JPanel {
                 "Confirm Deletion", JOptionPane.YES_NO_OPTION);
 
             if (confirmation == JOptionPane.YES_OPTION) {
-                if (departmentDAO.deleteDepartment(id)) {
-                    JOptionPane.showMessageDialog(this, "Department deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    refreshDepartmentTable();
-                    mainFrame.refreshDepartmentCombos();
-                    resetFields();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to delete department. It might be in use or a database error occurred.", "Database Error", JOptionPane.ERROR_MESSAGE);
-                }
+                mainFrame.getTaskRunner().runUpdate(this, "Deleting department...", () -> mainFrame.deleteDepartment(id), deleted -> {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(this, "Department deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        resetFields();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to delete department. It might be in use or a database error occurred.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID for deletion.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -7,20 +7,31 @@ public class Enrollment {
     private int enrollmentId;
     private int studentId;
     private int courseId;
+    // As stored in the Enrollment table
     private String year;
     private String semester;
     private String grade; // Null until grade is assigned
+    // Parsed from the text above; null where it is not a known term or grade
+    private Term term;
+    private Grade letterGrade;
 
     // Constructor for new enrollments (grade starts as null)
-    public Enrollment(int studentId, int courseId, String year, String semester) {
+    public Enrollment(int studentId, int courseId, Term term) {
+        this(0, studentId, courseId, term, null);
+    }
+
+    public Enrollment(int enrollmentId, int studentId, int courseId, Term term, Grade grade) {
+        this.enrollmentId = enrollmentId;
         this.studentId = studentId;
         this.courseId = courseId;
-        this.year = year;
-        this.semester = semester;
-        this.grade = null;
+        this.year = term.getYearLabel();
+        this.semester = term.getSemester();
+        this.grade = Grade.labelOf(grade);
+        this.term = term;
+        this.letterGrade = grade;
     }
 
-    // Constructor for existing enrollments from database
+    // Constructor for existing enrollments from database; rows written before terms and grades were checked are kept as they are
     public Enrollment(int enrollmentId, int studentId, int courseId, String year, String semester, String grade) {
         this.enrollmentId = enrollmentId;
         this.studentId = studentId;
@@ -28,6 +39,8 @@ public class Enrollment {
         this.year = year;
         this.semester = semester;
         this.grade = grade;
+        this.term = Term.parse(year, semester);
+        this.letterGrade = Grade.parse(grade);
     }
 
     // Getters and setters
@@ -43,12 +56,16 @@ public class Enrollment {
 
     public int getCourseId() { return courseId; }
 
+    // Null when the stored semester is not a season
+    public Term getTerm() { return term; }
+
     public String getYear() { return year; }
-    public void setYear(String year) { this.year = year; }
 
     public String getSemester() { return semester; }
-    public void setSemester(String semester) { this.semester = semester; }
 
+    // Null until graded, or when the stored grade is not a known one
+    public Grade getLetterGrade() { return letterGrade; }
+
+    // The grade as stored in the Enrollment table, null until assigned
     public String getGrade() { return grade; }
-    public void setGrade(String grade) { this.grade = grade; }
-} 
\ No newline at end of file
+}
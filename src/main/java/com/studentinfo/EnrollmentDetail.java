@@ -0,0 +1,22 @@
+package com.studentinfo;
+
+/**
+ * An enrollment together with the student and course names needed to display it.
+ */
+public class EnrollmentDetail {
+    private final Enrollment enrollment;
+    private final String studentName;
+    private final String courseName;
+
+    public EnrollmentDetail(Enrollment enrollment, String studentName, String courseName) {
+        this.enrollment = enrollment;
+        this.studentName = studentName;
+        this.courseName = courseName;
+    }
+
+    public Enrollment getEnrollment() { return enrollment; }
+
+    public String getStudentName() { return studentName; }
+
+    public String getCourseName() { return courseName; }
+}
@@ -2,6 +2,7 @@ package com.studentinfo;
 
 import javax.swing.*;
 import java.awt.*;
+import com.studentinfo.dao.EnrollmentResult;
 
 /**
  * Enrollment management panel for handling student course enrollments.
@@ -10,12 +11,10 @@ import java.awt.*;
 class EnrollmentPanel extends JPanel {
     private MainFrame mainFrame;
     private JTextField studentIdField, courseIdField;
-    private JComboBox<String> yearCombo, semesterCombo;
+    private YearCombo yearCombo;
+    private JComboBox<String> semesterCombo;
     private JButton addButton, searchButton, resetButton;
     private JLabel statusLabel;
-    
-    private String[] years = {"2023", "2024", "2025"};
-    private String[] semesters = {"Fall", "Spring", "Summer"};
 
     public EnrollmentPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -38,11 +37,12 @@ class EnrollmentPanel extends JPanel {
         formPanel.add(courseIdField);
 
         formPanel.add(new JLabel("Year:"));
-        yearCombo = new JComboBox<>(years);
+        yearCombo = new YearCombo(mainFrame);
         formPanel.add(yearCombo);
 
         formPanel.add(new JLabel("Semester:"));
-        semesterCombo = new JComboBox<>(semesters);
+        semesterCombo = new JComboBox<>(Term.Season.labels());
+        semesterCombo.setSelectedItem(Term.Season.FALL.getLabel());
         formPanel.add(semesterCombo);
 
         statusLabel = new JLabel(" ");
@@ -82,41 +82,32 @@ class EnrollmentPanel extends JPanel {
             String year = yearCombo.getSelectedItem().toString();
             String semester = semesterCombo.getSelectedItem().toString();
 
-            // Validate student exists
-            Student student = mainFrame.findStudentById(studentId);
-            if (student == null) {
-                JOptionPane.showMessageDialog(this, "Student ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+            // Validation, duplicate detection and insert happen in a single database round trip
+            mainFrame.getTaskRunner().runUpdate(this, "Adding enrollment...",
+                    () -> mainFrame.enrollStudent(studentId, courseId, year, semester), this::showEnrollmentResult);
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Invalid ID format. Please enter numbers for Student ID and Course ID.", "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
 
-            // Validate course exists (by its auto-incremented course_id)
-            Course course = mainFrame.findCourseById(courseId);
-            if (course == null) {
+    private void showEnrollmentResult(EnrollmentResult result) {
+        switch (result.getStatus()) {
+            case CREATED:
+                JOptionPane.showMessageDialog(this, "Enrollment added successfully. Enrollment ID: " + result.getEnrollment().getEnrollmentId(), "Success", JOptionPane.INFORMATION_MESSAGE);
+                resetFields();
+                break;
+            case UNKNOWN_STUDENT:
+                JOptionPane.showMessageDialog(this, "Student ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                break;
+            case UNKNOWN_COURSE:
                 JOptionPane.showMessageDialog(this, "Course (DB) ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
-            // Check for duplicate enrollment using DAO via MainFrame
-            if (mainFrame.findEnrollmentInDB(studentId, courseId, year, semester) != null) {
+                break;
+            case DUPLICATE:
                 JOptionPane.showMessageDialog(this, 
                     "Student is already enrolled in this course for the selected semester.", 
                     "Duplicate Enrollment", 
                     JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
-            // Create new enrollment object (enrollment_id will be set by DAO)
-            Enrollment newEnrollment = new Enrollment(0, studentId, courseId, year, semester, null);
-            
-            if (mainFrame.addEnrollmentToDB(newEnrollment)) {
-                JOptionPane.showMessageDialog(this, "Enrollment added successfully. Enrollment ID: " + newEnrollment.getEnrollmentId(), "Success", JOptionPane.INFORMATION_MESSAGE);
-                resetFields();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add enrollment to the database.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
-
-        } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this, "Invalid ID format. Please enter numbers for Student ID and Course ID.", "Error", JOptionPane.ERROR_MESSAGE);
+                break;
         }
     }
 
@@ -134,14 +125,15 @@ class EnrollmentPanel extends JPanel {
             String year = yearCombo.getSelectedItem().toString();
             String semester = semesterCombo.getSelectedItem().toString();
 
-            Enrollment enrollment = mainFrame.findEnrollmentInDB(studentId, courseId, year, semester);
-
-            if (enrollment != null) {
-                statusLabel.setText("Enrollment found. Grade: " + (enrollment.getGrade() != null ? enrollment.getGrade() : "Not Graded"));
-            } else {
-                statusLabel.setText("Enrollment not found.");
-                JOptionPane.showMessageDialog(this, "Enrollment not found for the specified details.", "Not Found", JOptionPane.WARNING_MESSAGE);
-            }
+            mainFrame.getTaskRunner().runQuery(this, "Searching enrollments...",
+                    () -> mainFrame.findEnrollmentInDB(studentId, courseId, year, semester), enrollment -> {
+                if (enrollment != null) {
+                    statusLabel.setText("Enrollment found. Grade: " + (enrollment.getGrade() != null ? enrollment.getGrade() : "Not Graded"));
+                } else {
+                    statusLabel.setText("Enrollment not found.");
+                    JOptionPane.showMessageDialog(this, "Enrollment not found for the specified details.", "Not Found", JOptionPane.WARNING_MESSAGE);
+                }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID format. Please enter numbers for Student ID and Course ID.", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -150,8 +142,8 @@ class EnrollmentPanel extends JPanel {
     private void resetFields() {
         studentIdField.setText("");
         courseIdField.setText("");
-        if (yearCombo.getItemCount() > 0) yearCombo.setSelectedIndex(0);
-        if (semesterCombo.getItemCount() > 0) semesterCombo.setSelectedIndex(0);
+        yearCombo.selectCurrentYear();
+        semesterCombo.setSelectedItem(Term.Season.FALL.getLabel());
         statusLabel.setText(" ");
         studentIdField.requestFocus();
     }
@@ -0,0 +1,79 @@
+package com.studentinfo;
+
+/**
+ * A grade as stored in Enrollment.grade, with its points on the standard 4.0 scale. Pass, no pass,
+ * withdrawal and incomplete carry no points. Installations can reweigh the letter grades with
+ * gpa.points.* settings; see GradeScale.
+ */
+public enum Grade {
+    A("A", 4.0),
+    A_MINUS("A-", 3.7),
+    B_PLUS("B+", 3.3),
+    B("B", 3.0),
+    B_MINUS("B-", 2.7),
+    C_PLUS("C+", 2.3),
+    C("C", 2.0),
+    C_MINUS("C-", 1.7),
+    D_PLUS("D+", 1.3),
+    D("D", 1.0),
+    F("F", 0.0),
+    PASS("P", null),
+    NO_PASS("NP", null),
+    WITHDRAWN("W", null),
+    INCOMPLETE("I", null);
+
+    private static final Grade[] GRADES = values();
+
+    private final String label;
+    private final Double points;
+
+    Grade(String label, Double points) {
+        this.label = label;
+        this.points = points;
+    }
+
+    public String getLabel() { return label; }
+
+    // Null for grades that do not count towards a GPA
+    public Double getPoints() { return points; }
+
+    public boolean hasPoints() {
+        return points != null;
+    }
+
+    /**
+     * The grade with this label; null for a null or blank label, which means not graded yet.
+     * @throws IllegalArgumentException if the label is not a grade
+     */
+    public static Grade fromLabel(String label) {
+        if (label == null || label.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = label.trim();
+        for (Grade grade : GRADES) {
+            if (grade.label.equalsIgnoreCase(trimmed)) {
+                return grade;
+            }
+        }
+        throw new IllegalArgumentException("Unknown grade: " + label);
+    }
+
+    // Like fromLabel, but null instead of an exception for a label that is not a grade
+    public static Grade parse(String label) {
+        try {
+            return fromLabel(label);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // The label of a possibly missing grade, null for none
+    public static String labelOf(Grade grade) {
+        return grade != null ? grade.label : null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
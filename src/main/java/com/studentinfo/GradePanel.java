@@ -1,30 +1,41 @@
 package com.studentinfo;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
+import com.studentinfo.event.ChangeBatch;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.ChangeEvent;
+import com.studentinfo.event.EnrollmentChanged;
+import com.studentinfo.gpa.StudentGpa;
+import com.studentinfo.gpa.TermGpa;
 
 /**
  * Grade management panel with course/student based filtering using DAO.
  * Handles grade assignment and updates.
  */
 class GradePanel extends JPanel {
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 20;
+
     private MainFrame mainFrame;
     private JTextField studentIdField, courseIdField;
     private JTextField updateStudentIdField, updateCourseIdField;
     private JComboBox<String> yearCombo, semesterCombo, gradeCombo;
-    private JButton searchByStudentButton, searchByCourseButton, updateGradeButton;
+    private JButton searchByStudentButton, searchByCourseButton, updateGradeButton, bulkGradeButton;
+    private JLabel gpaLabel;
     private JTable gradesTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<EnrollmentDetail> tableModel;
+    private SwingWorker<?, ?> pendingSearch;
+    // Whose enrollments the table shows; at most one is set
+    private Integer shownStudentId, shownCourseId;
     
-    private String[] years = {"2023", "2024", "2025"};
-    private String[] semesters = {"Fall", "Spring", "Summer"};
-    private String[] grades = {"A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "F", ""};
+    private String[] semesters = Term.Season.labels();
+    private String[] grades = gradeLabels();
 
     public GradePanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         setupUI();
+        ChangeBus.get().subscribeCoalesced(EnrollmentChanged.class, SwingUtilities::invokeLater, this::enrollmentsChanged);
     }
 
     private void setupUI() {
@@ -44,6 +55,8 @@ class GradePanel extends JPanel {
         studentSearchLine.add(studentIdField);
         searchByStudentButton = new JButton("Get Student Grades");
         studentSearchLine.add(searchByStudentButton);
+        gpaLabel = new JLabel(" ");
+        studentSearchLine.add(gpaLabel);
         searchInputPanel.add(studentSearchLine);
 
         JPanel courseSearchLine = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
@@ -70,12 +83,13 @@ class GradePanel extends JPanel {
         gradeUpdatePanel.add(updateCourseIdField);
 
         gradeUpdatePanel.add(new JLabel("Year:"));
-        yearCombo = new JComboBox<>(years);
+        yearCombo = new YearCombo(mainFrame);
         yearCombo.setPreferredSize(new Dimension(80, 25));
         gradeUpdatePanel.add(yearCombo);
         
         gradeUpdatePanel.add(new JLabel("Semester:"));
         semesterCombo = new JComboBox<>(semesters);
+        semesterCombo.setSelectedItem(Term.Season.FALL.getLabel());
         semesterCombo.setPreferredSize(new Dimension(100, 25));
         gradeUpdatePanel.add(semesterCombo);
         
@@ -86,26 +100,29 @@ class GradePanel extends JPanel {
         
         updateGradeButton = new JButton("Set Grade");
         gradeUpdatePanel.add(updateGradeButton);
+
+        bulkGradeButton = new JButton("Grade Whole Section...");
+        gradeUpdatePanel.add(bulkGradeButton);
         topPanel.add(gradeUpdatePanel);
 
         // Table for viewing grades
         String[] columnNames = {"Enroll ID", "Std ID", "Student Name", "Crs ID", "Course Name", "Year", "Semester", "Grade"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new LazyTableModel<>(columnNames, GradePanel::columnValue, PAGE_SIZE, CACHED_PAGES);
+        tableModel.setErrorHandler(e -> JOptionPane.showMessageDialog(this, "Database error while loading grades: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE));
         gradesTable = new JTable(tableModel);
         gradesTable.getSelectionModel().addListSelectionListener(event -> {
             if (!event.getValueIsAdjusting() && gradesTable.getSelectedRow() != -1) {
-                int selectedRow = gradesTable.getSelectedRow();
-                updateStudentIdField.setText(gradesTable.getValueAt(selectedRow, 1).toString());
-                updateCourseIdField.setText(gradesTable.getValueAt(selectedRow, 3).toString());
-                yearCombo.setSelectedItem(gradesTable.getValueAt(selectedRow, 5).toString());
-                semesterCombo.setSelectedItem(gradesTable.getValueAt(selectedRow, 6).toString());
-                String currentGrade = gradesTable.getValueAt(selectedRow, 7) != null ? gradesTable.getValueAt(selectedRow, 7).toString() : "";
-                gradeCombo.setSelectedItem(currentGrade);
+                EnrollmentDetail detail = tableModel.getRow(gradesTable.getSelectedRow());
+                if (detail == null) {
+                    return; // Row still loading
+                }
+                Enrollment enrollment = detail.getEnrollment();
+                updateStudentIdField.setText(String.valueOf(enrollment.getStudentId()));
+                updateCourseIdField.setText(String.valueOf(enrollment.getCourseId()));
+                // Legacy rows may hold a year or semester the combos do not list; Set Grade must target the row's own term
+                selectAdding(yearCombo, enrollment.getYear());
+                selectAdding(semesterCombo, enrollment.getSemester());
+                gradeCombo.setSelectedItem(enrollment.getGrade() != null ? enrollment.getGrade() : "");
             }
         });
         JScrollPane scrollPane = new JScrollPane(gradesTable);
@@ -116,10 +133,46 @@ class GradePanel extends JPanel {
         searchByStudentButton.addActionListener(e -> searchByStudent());
         searchByCourseButton.addActionListener(e -> searchByCourse());
         updateGradeButton.addActionListener(e -> updateGrade());
+        bulkGradeButton.addActionListener(e -> openBulkGradeDialog());
+    }
+
+    // Every grade, then "" for clearing one
+    private static String[] gradeLabels() {
+        Grade[] values = Grade.values();
+        String[] labels = new String[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            labels[i] = values[i].getLabel();
+        }
+        labels[values.length] = "";
+        return labels;
+    }
+
+    // Selects the value, first adding it when the combo does not offer it (a non-editable combo ignores it otherwise)
+    private static void selectAdding(JComboBox<String> combo, String value) {
+        if (((DefaultComboBoxModel<String>) combo.getModel()).getIndexOf(value) == -1) {
+            combo.addItem(value);
+        }
+        combo.setSelectedItem(value);
+    }
+
+    private static String[] items(JComboBox<String> combo) {
+        String[] items = new String[combo.getItemCount()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = combo.getItemAt(i);
+        }
+        return items;
+    }
+
+    private void openBulkGradeDialog() {
+        BulkGradeDialog dialog = new BulkGradeDialog(mainFrame, items(yearCombo), items(semesterCombo), grades);
+        // Start from whichever course is already in view
+        String courseId = !updateCourseIdField.getText().trim().isEmpty() ? updateCourseIdField.getText().trim() : courseIdField.getText().trim();
+        dialog.setSection(courseId, yearCombo.getSelectedItem(), semesterCombo.getSelectedItem());
+        dialog.setVisible(true); // Saved grades reach the table as change events
     }
 
     private void searchByStudent() {
-        tableModel.setRowCount(0); 
+        clearTable();
         String studentIdText = studentIdField.getText().trim();
         if (studentIdText.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please enter a Student ID to search.", "Info", JOptionPane.INFORMATION_MESSAGE);
@@ -127,38 +180,29 @@ class GradePanel extends JPanel {
         }
         try {
             int studentId = Integer.parseInt(studentIdText);
-            Student student = mainFrame.findStudentById(studentId);
-            if (student == null) {
-                JOptionPane.showMessageDialog(this, "Student ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
-            List<Enrollment> enrollments = mainFrame.getEnrollmentsForStudentFromDB(studentId);
-            if (enrollments.isEmpty()) {
-                JOptionPane.showMessageDialog(this, "No enrollments found for this student.", "Info", JOptionPane.INFORMATION_MESSAGE);
-                return;
-            }
-            for (Enrollment enrollment : enrollments) {
-                Course course = mainFrame.findCourseById(enrollment.getCourseId());
-                String courseName = (course != null) ? course.getCourseName() : "N/A";
-                tableModel.addRow(new Object[]{
-                    enrollment.getEnrollmentId(),
-                    enrollment.getStudentId(),
-                    student.getName(),
-                    enrollment.getCourseId(),
-                    courseName,
-                    enrollment.getYear(),
-                    enrollment.getSemester(),
-                    enrollment.getGrade() != null ? enrollment.getGrade() : ""
-                });
-            }
+            startSearch(mainFrame.getTaskRunner().runQuery(this, "Loading grades for student " + studentId + "...",
+                    () -> mainFrame.countEnrollmentsForStudent(studentId), count -> {
+                if (count == 0) {
+                    // Only an empty result needs the extra lookup to tell an unknown student apart
+                    startSearch(mainFrame.getTaskRunner().runQuery(this, "Checking student " + studentId + "...",
+                            () -> mainFrame.findStudentById(studentId) != null, exists -> {
+                        if (!exists) {
+                            JOptionPane.showMessageDialog(this, "Student ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "No enrollments found for this student.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                        }
+                    }));
+                    return;
+                }
+                showStudent(studentId, count);
+            }));
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid Student ID format.", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
     private void searchByCourse() {
-        tableModel.setRowCount(0);
+        clearTable();
         String courseIdText = courseIdField.getText().trim();
         if (courseIdText.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please enter a Course ID to search.", "Info", JOptionPane.INFORMATION_MESSAGE);
@@ -166,33 +210,158 @@ class GradePanel extends JPanel {
         }
         try {
             int courseId = Integer.parseInt(courseIdText);
-            Course course = mainFrame.findCourseById(courseId);
-            if (course == null) {
-                JOptionPane.showMessageDialog(this, "Course ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
+            startSearch(mainFrame.getTaskRunner().runQuery(this, "Loading enrollments for course " + courseId + "...",
+                    () -> mainFrame.countEnrollmentsForCourse(courseId), count -> {
+                if (count == 0) {
+                    startSearch(mainFrame.getTaskRunner().runQuery(this, "Checking course " + courseId + "...",
+                            () -> mainFrame.findCourseById(courseId) != null, exists -> {
+                        if (!exists) {
+                            JOptionPane.showMessageDialog(this, "Course ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "No enrollments found for this course.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                        }
+                    }));
+                    return;
+                }
+                showCourse(courseId, count);
+            }));
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Invalid Course ID format.", "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void showStudent(int studentId, int count) {
+        shownStudentId = studentId;
+        shownCourseId = null;
+        tableModel.reset(count, cursor -> mainFrame.getEnrollmentDetailsPageForStudent(studentId, cursor));
+        showGpa(studentId);
+    }
+
+    private void showCourse(int courseId, int count) {
+        shownStudentId = null;
+        shownCourseId = courseId;
+        tableModel.reset(count, cursor -> mainFrame.getEnrollmentDetailsPageForCourse(courseId, cursor));
+    }
+
+    private void clearTable() {
+        shownStudentId = null;
+        shownCourseId = null;
+        tableModel.clear();
+        gpaLabel.setText(" ");
+        gpaLabel.setToolTipText(null);
+    }
+
+    // Only the first request for a student reads the database; the GPA is then kept current in memory
+    private void showGpa(int studentId) {
+        mainFrame.getTaskRunner().runQuery(this, "Calculating GPA...", () -> mainFrame.getStudentGpa(studentId), gpa -> {
+            if (shownStudentId == null || shownStudentId != studentId) {
+                return; // Another search has started since
+            }
+            if (gpa.getCumulativeGpa() == null) {
+                gpaLabel.setText("No graded courses yet");
+                gpaLabel.setToolTipText(null);
                 return;
             }
+            gpaLabel.setText(String.format("Cumulative GPA: %.2f (%d credits)", gpa.getCumulativeGpa(), gpa.getCredits()));
+            gpaLabel.setToolTipText(termSummary(gpa));
+        });
+    }
 
-            List<Enrollment> enrollments = mainFrame.getEnrollmentsForCourseFromDB(courseId);
-            if (enrollments.isEmpty()) {
-                JOptionPane.showMessageDialog(this, "No enrollments found for this course.", "Info", JOptionPane.INFORMATION_MESSAGE);
-                return;
+    private static String termSummary(StudentGpa gpa) {
+        StringBuilder html = new StringBuilder("<html>");
+        for (TermGpa term : gpa.getTerms()) {
+            html.append(String.format("%s %s: %.2f (%d credits)<br>", term.getSemester(), term.getYear(), term.getGpa(), term.getCredits()));
+        }
+        return html.append("</html>").toString();
+    }
+
+    // Patches grades in the rows already loaded and grows the table for new enrollments, instead of searching again
+    private void enrollmentsChanged(ChangeBatch<EnrollmentChanged> batch) {
+        if (shownStudentId == null && shownCourseId == null) {
+            return;
+        }
+        if (batch.isOverflow()) {
+            reloadShown();
+            return;
+        }
+        int added = 0;
+        boolean gradesChanged = false;
+        for (EnrollmentChanged change : batch.getEvents()) {
+            if (!isShown(change)) {
+                continue;
             }
-            for (Enrollment enrollment : enrollments) {
-                Student student = mainFrame.findStudentById(enrollment.getStudentId());
-                String studentName = (student != null) ? student.getName() : "N/A";
-                tableModel.addRow(new Object[]{
-                    enrollment.getEnrollmentId(),
-                    enrollment.getStudentId(),
-                    studentName,
-                    enrollment.getCourseId(),
-                    course.getCourseName(),
-                    enrollment.getYear(),
-                    enrollment.getSemester(),
-                    enrollment.getGrade() != null ? enrollment.getGrade() : ""
-                });
+            gradesChanged = true;
+            if (change.getType() == ChangeEvent.Type.ADDED) {
+                added++;
+            } else {
+                Term term = change.getTerm();
+                Grade grade = Grade.fromLabel(change.getGrade());
+                tableModel.updateLoadedRows(detail -> withGrade(detail, change, term, grade));
             }
-        } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this, "Invalid Course ID format.", "Error", JOptionPane.ERROR_MESSAGE);
+        }
+        tableModel.addRows(added);
+        if (gradesChanged && shownStudentId != null) {
+            showGpa(shownStudentId);
+        }
+    }
+
+    private boolean isShown(EnrollmentChanged change) {
+        return shownStudentId != null ? shownStudentId == change.getStudentId() : shownCourseId == change.getCourseId();
+    }
+
+    private static EnrollmentDetail withGrade(EnrollmentDetail detail, EnrollmentChanged change, Term term, Grade grade) {
+        Enrollment enrollment = detail.getEnrollment();
+        if (enrollment.getStudentId() != change.getStudentId() || enrollment.getCourseId() != change.getCourseId()) {
+            return detail;
+        }
+        Enrollment updated;
+        if (term != null) {
+            if (enrollment.getTerm() != term) {
+                return detail;
+            }
+            updated = new Enrollment(enrollment.getEnrollmentId(), enrollment.getStudentId(), enrollment.getCourseId(), term, grade);
+        } else {
+            // A row whose semester is not a season; match the stored text the way the UPDATE did
+            if (!enrollment.getYear().equalsIgnoreCase(change.getYear()) || !enrollment.getSemester().equalsIgnoreCase(change.getSemester())) {
+                return detail;
+            }
+            updated = new Enrollment(enrollment.getEnrollmentId(), enrollment.getStudentId(), enrollment.getCourseId(),
+                    enrollment.getYear(), enrollment.getSemester(), change.getGrade());
+        }
+        return new EnrollmentDetail(updated, detail.getStudentName(), detail.getCourseName());
+    }
+
+    private void reloadShown() {
+        Integer studentId = shownStudentId;
+        Integer courseId = shownCourseId;
+        if (studentId != null) {
+            startSearch(mainFrame.getTaskRunner().runQuery(this, "Reloading grades for student " + studentId + "...",
+                    () -> mainFrame.countEnrollmentsForStudent(studentId), count -> showStudent(studentId, count)));
+        } else {
+            startSearch(mainFrame.getTaskRunner().runQuery(this, "Reloading enrollments for course " + courseId + "...",
+                    () -> mainFrame.countEnrollmentsForCourse(courseId), count -> showCourse(courseId, count)));
+        }
+    }
+
+    // Cancels the previous search so its late result can't overwrite the table
+    private void startSearch(SwingWorker<?, ?> search) {
+        if (pendingSearch != null && pendingSearch != search) {
+            pendingSearch.cancel(true);
+        }
+        pendingSearch = search;
+    }
+
+    private static Object columnValue(EnrollmentDetail detail, int column) {
+        Enrollment enrollment = detail.getEnrollment();
+        switch (column) {
+            case 0: return enrollment.getEnrollmentId();
+            case 1: return enrollment.getStudentId();
+            case 2: return detail.getStudentName();
+            case 3: return enrollment.getCourseId();
+            case 4: return detail.getCourseName();
+            case 5: return enrollment.getYear();
+            case 6: return enrollment.getSemester();
+            default: return enrollment.getGrade() != null ? enrollment.getGrade() : "";
         }
     }
 
@@ -210,23 +379,19 @@ class GradePanel extends JPanel {
             int courseId = Integer.parseInt(courseIdText);
             String year = yearCombo.getSelectedItem().toString();
             String semester = semesterCombo.getSelectedItem().toString();
-            String grade = gradeCombo.getSelectedItem() != null ? gradeCombo.getSelectedItem().toString() : null;
-            if (grade != null && grade.isEmpty()) grade = null;
-
-            if (mainFrame.updateGradeInDB(studentId, courseId, year, semester, grade)) {
-                JOptionPane.showMessageDialog(this, "Grade updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                if (!studentIdField.getText().trim().isEmpty()) {
-                    searchByStudent(); 
-                } else if (!courseIdField.getText().trim().isEmpty()) {
-                    searchByCourse();
-                } else { 
-                    tableModel.setRowCount(0);
+            String selectedGrade = gradeCombo.getSelectedItem() != null ? gradeCombo.getSelectedItem().toString() : null;
+            String grade = (selectedGrade != null && selectedGrade.isEmpty()) ? null : selectedGrade;
+
+            mainFrame.getTaskRunner().runUpdate(this, "Updating grade...",
+                    () -> mainFrame.updateGradeInDB(studentId, courseId, year, semester, grade), updated -> {
+                if (updated) {
+                    JOptionPane.showMessageDialog(this, "Grade updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    updateStudentIdField.setText("");
+                    updateCourseIdField.setText("");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to update grade. Ensure the enrollment exists for the specified student, course, year, and semester.", "Error", JOptionPane.ERROR_MESSAGE);
                 }
-                updateStudentIdField.setText("");
-                updateCourseIdField.setText("");
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to update grade. Ensure the enrollment exists for the specified student, course, year, and semester.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid Student ID or Course ID in 'Update Grade' section.", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -0,0 +1,299 @@
+package com.studentinfo;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import com.studentinfo.dao.Page;
+import com.studentinfo.dao.PageCursor;
+import com.studentinfo.util.DaoExecutor;
+
+/**
+ * Read-only table model that knows the total row count up front but only fetches the rows the
+ * table actually paints, a page at a time in the background. Loaded pages are kept in a bounded
+ * LRU cache, so memory stays flat however far the user scrolls.
+ * A page is fetched with the keyset cursor of the page before it when that page is cached, and
+ * with an OFFSET query otherwise (e.g. after dragging the scroll bar to the middle).
+ * All methods must be called on the event dispatch thread.
+ */
+class LazyTableModel<T> extends AbstractTableModel {
+
+    interface PageSource<T> {
+        Page<T> fetch(PageCursor cursor);
+    }
+
+    interface ColumnValues<T> {
+        Object valueAt(T row, int column);
+    }
+
+    private static final String LOADING = "Loading...";
+    private static final int MAX_CONCURRENT_LOADS = 2;
+    // Older requests are dropped once the user has scrolled past them
+    private static final int MAX_QUEUED_LOADS = 6;
+    // A load turned away because too many database calls are in flight is queued again after this
+    private static final int BUSY_RETRY_MILLIS = 250;
+    // A page that failed is not requested again until this has passed; it is then repainted to retry
+    private static final int FAILED_RETRY_MILLIS = 5000;
+
+    private final String[] columnNames;
+    private final ColumnValues<T> columnValues;
+    private final int pageSize;
+    private final Map<Integer, Page<T>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>();
+    private final Deque<Integer> queued = new ArrayDeque<>();
+    private Consumer<Throwable> onError;
+    private boolean errorReported;
+
+    private PageSource<T> source;
+    private int rowCount;
+    private int generation;
+
+    public LazyTableModel(String[] columnNames, ColumnValues<T> columnValues, int pageSize, int maxCachedPages) {
+        this.columnNames = columnNames;
+        this.columnValues = columnValues;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<Integer, Page<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    // Called once per reset when a page fails to load; busy rejections are retried without calling it
+    public void setErrorHandler(Consumer<Throwable> onError) {
+        this.onError = onError;
+    }
+
+    /**
+     * Shows rowCount rows from the given source, discarding every cached page and any load in flight.
+     */
+    public void reset(int rowCount, PageSource<T> source) {
+        generation++;
+        this.rowCount = rowCount;
+        this.source = source;
+        pages.clear();
+        loading.clear();
+        failed.clear();
+        queued.clear();
+        errorReported = false;
+        fireTableDataChanged();
+    }
+
+    public void clear() {
+        reset(0, null);
+    }
+
+    // The row object, or null while its page is still loading
+    public T getRow(int rowIndex) {
+        Page<T> page = pages.get(rowIndex / pageSize);
+        int index = rowIndex % pageSize;
+        return page != null && index < page.getItems().size() ? page.getItems().get(index) : null;
+    }
+
+    // Index of the first already loaded row matching the predicate, or -1; never triggers a load
+    public int findLoadedRow(Predicate<T> predicate) {
+        for (Map.Entry<Integer, Page<T>> entry : pages.entrySet()) {
+            for (int i = 0; i < entry.getValue().getItems().size(); i++) {
+                if (predicate.test(entry.getValue().getItems().get(i))) {
+                    return entry.getKey() * pageSize + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Applies an in-place change to every loaded row; rows the function returns unchanged (the same
+     * instance) are left alone and only the rows that changed are repainted.
+     */
+    public void updateLoadedRows(UnaryOperator<T> update) {
+        for (Map.Entry<Integer, Page<T>> entry : pages.entrySet()) {
+            List<T> items = entry.getValue().getItems();
+            List<T> updated = null;
+            for (int i = 0; i < items.size(); i++) {
+                T row = update.apply(items.get(i));
+                if (row != items.get(i)) {
+                    if (updated == null) {
+                        updated = new ArrayList<>(items);
+                    }
+                    updated.set(i, row);
+                }
+            }
+            if (updated != null) {
+                entry.setValue(entry.getValue().withItems(updated));
+                firePageUpdated(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Removes one row. When it is loaded, the pages before it are kept and the rest, which have
+     * shifted up by one, are fetched again as they are painted; otherwise its position is unknown
+     * and every page is fetched again.
+     */
+    public void removeRow(Predicate<T> sameRow) {
+        if (source == null || rowCount == 0) {
+            return;
+        }
+        int row = findLoadedRow(sameRow);
+        dropPagesFrom(row == -1 ? 0 : row / pageSize);
+        rowCount--;
+        if (row == -1) {
+            fireTableRowsDeleted(rowCount, rowCount);
+            if (rowCount > 0) {
+                fireTableRowsUpdated(0, rowCount - 1);
+            }
+        } else {
+            fireTableRowsDeleted(row, row);
+        }
+    }
+
+    /**
+     * Grows the table by count rows whose positions are unknown, so every page is fetched again.
+     */
+    public void addRows(int count) {
+        if (source == null || count <= 0) {
+            return;
+        }
+        int oldRowCount = rowCount;
+        dropPagesFrom(0);
+        rowCount += count;
+        fireTableRowsInserted(oldRowCount, rowCount - 1);
+        if (oldRowCount > 0) {
+            fireTableRowsUpdated(0, oldRowCount - 1);
+        }
+    }
+
+    // Loads already running would land at the old row positions, so they are discarded too
+    private void dropPagesFrom(int pageIndex) {
+        generation++;
+        loading.clear();
+        failed.clear();
+        queued.clear();
+        pages.keySet().removeIf(index -> index >= pageIndex);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int pageIndex = rowIndex / pageSize;
+        Page<T> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return columnIndex == 0 ? LOADING : null;
+        }
+        int index = rowIndex % pageSize;
+        // The table may have shrunk since the count was taken
+        return index < page.getItems().size() ? columnValues.valueAt(page.getItems().get(index), columnIndex) : null;
+    }
+
+    private void requestPage(int pageIndex) {
+        if (source == null || loading.contains(pageIndex) || failed.contains(pageIndex)) {
+            return;
+        }
+        // Most recently painted pages load first
+        queued.remove(pageIndex);
+        queued.addFirst(pageIndex);
+        while (queued.size() > MAX_QUEUED_LOADS) {
+            queued.removeLast();
+        }
+        startLoads();
+    }
+
+    private void startLoads() {
+        while (loading.size() < MAX_CONCURRENT_LOADS && !queued.isEmpty()) {
+            int pageIndex = queued.pollFirst();
+            if (!pages.containsKey(pageIndex)) {
+                load(pageIndex);
+            }
+        }
+    }
+
+    private void load(int pageIndex) {
+        loading.add(pageIndex);
+        int loadGeneration = generation;
+        PageSource<T> loadSource = source;
+        PageCursor cursor = cursorFor(pageIndex);
+        DaoExecutor.trySupplyAsync(() -> loadSource.fetch(cursor)).whenComplete((page, error) -> SwingUtilities.invokeLater(() -> {
+            if (loadGeneration != generation) {
+                return; // Reset while loading
+            }
+            loading.remove(pageIndex);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RejectedExecutionException) {
+                retryLater(loadGeneration, BUSY_RETRY_MILLIS, () -> requestPage(pageIndex));
+            } else if (cause != null) {
+                if (!errorReported && onError != null) {
+                    errorReported = true;
+                    onError.accept(cause);
+                }
+                failed.add(pageIndex);
+                retryLater(loadGeneration, FAILED_RETRY_MILLIS, () -> {
+                    failed.remove(pageIndex);
+                    firePageUpdated(pageIndex); // Only painted rows ask for the page again
+                });
+            } else {
+                pages.put(pageIndex, page);
+                firePageUpdated(pageIndex);
+            }
+            startLoads();
+        }));
+    }
+
+    // Runs the retry on the event dispatch thread unless the model was reset or shifted meanwhile
+    private void retryLater(int loadGeneration, int delayMillis, Runnable retry) {
+        Timer timer = new Timer(delayMillis, e -> {
+            if (loadGeneration == generation) {
+                retry.run();
+            }
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    private void firePageUpdated(int pageIndex) {
+        int firstRow = pageIndex * pageSize;
+        int lastRow = Math.min(firstRow + pageSize, rowCount) - 1;
+        if (lastRow >= firstRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    private PageCursor cursorFor(int pageIndex) {
+        if (pageIndex == 0) {
+            return PageCursor.first(pageSize);
+        }
+        Page<T> previous = pages.get(pageIndex - 1);
+        if (previous != null && previous.hasNext() && previous.getItems().size() == pageSize) {
+            return previous.nextCursor();
+        }
+        return PageCursor.at(pageIndex * pageSize, pageSize);
+    }
+}
@@ -1,13 +1,38 @@
 package com.studentinfo;
 
 import javax.swing.*;
+import java.awt.BorderLayout;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.studentinfo.dao.DepartmentDAO;
 import com.studentinfo.dao.ProfessorDAO;
 import com.studentinfo.dao.StudentDAO;
 import com.studentinfo.dao.CourseDAO;
 import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.dao.BulkGradeResult;
+import com.studentinfo.dao.EnrollmentResult;
+import com.studentinfo.dao.Page;
+import com.studentinfo.dao.PageCursor;
+import com.studentinfo.analytics.GradeDistribution;
+import com.studentinfo.analytics.GradeStatistics;
+import com.studentinfo.cache.EntityCache;
+import com.studentinfo.cache.ReferenceData;
+import com.studentinfo.cache.TermCatalog;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.ChangeEvent;
+import com.studentinfo.event.CourseChanged;
+import com.studentinfo.event.DepartmentChanged;
+import com.studentinfo.event.EnrollmentChanged;
+import com.studentinfo.event.EntityChanged;
+import com.studentinfo.event.ProfessorChanged;
+import com.studentinfo.event.StudentChanged;
+import com.studentinfo.gpa.GpaService;
+import com.studentinfo.gpa.GradeScale;
+import com.studentinfo.gpa.StudentGpa;
+import com.studentinfo.util.DaoExecutor;
+import com.studentinfo.util.DatabaseConfig;
 
 /**
  * Main application window containing all panels and data management.
@@ -15,6 +40,7 @@ import com.studentinfo.dao.EnrollmentDAO;
  */
 class MainFrame extends JFrame {
     private JTabbedPane tabbedPane;
+    private BackgroundTaskRunner taskRunner;
     
     // Shared data stores using DAOs
     private StudentDAO studentDAO;
@@ -22,6 +48,20 @@ class MainFrame extends JFrame {
     private DepartmentDAO departmentDAO;
     private ProfessorDAO professorDAO;
     private EnrollmentDAO enrollmentDAO;
+
+    // Caches behind the find*ById helpers, kept current by the change events the DAOs publish
+    private EntityCache<Student> studentCache;
+    private EntityCache<Course> courseCache;
+    private EntityCache<Department> departmentCache;
+    private EntityCache<Professor> professorCache;
+    // Departments and professors-by-department for the combo boxes, kept current by change events
+    private ReferenceData referenceData;
+    // Terms with enrollments for the year combo boxes, kept current by change events
+    private TermCatalog termCatalog;
+    // Per-student GPA, maintained from grade changes
+    private GpaService gpaService;
+    // Grade distributions per course, professor and department, maintained from grade changes
+    private GradeStatistics gradeStatistics;
     
     // Panels
     private StudentPanel studentPanel;
@@ -44,6 +84,30 @@ class MainFrame extends JFrame {
         departmentDAO = new DepartmentDAO();
         professorDAO = new ProfessorDAO();
         enrollmentDAO = new EnrollmentDAO();
+
+        studentCache = createCache("Student");
+        courseCache = createCache("Course");
+        departmentCache = createCache("Department");
+        professorCache = createCache("Professor");
+        referenceData = new ReferenceData(departmentDAO, professorDAO);
+        termCatalog = new TermCatalog(enrollmentDAO);
+        // Credits from the course cache only: the GPA service runs inside change events, which must not read the database
+        gpaService = new GpaService(enrollmentDAO, GradeScale.fromConfig(), courseId -> {
+            Course course = courseCache.getIfPresent(courseId);
+            return course != null ? course.getCredits() : -1;
+        }, DatabaseConfig.getGpaCacheSize());
+        gradeStatistics = new GradeStatistics(enrollmentDAO, gpaService.getScale());
+        subscribeToChanges();
+        if (DatabaseConfig.isEntityCacheEnabled() && DatabaseConfig.isCacheStatsLoggingEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                for (EntityCache<?> cache : getCaches()) {
+                    System.err.println(cache);
+                }
+            }, "cache-stats"));
+        }
+
+        // Panels run their DAO calls through this so the window never waits on the database
+        taskRunner = new BackgroundTaskRunner(this);
         
         // Initialize panels with shared data
         tabbedPane = new JTabbedPane();
@@ -63,7 +127,22 @@ class MainFrame extends JFrame {
         tabbedPane.addTab("Grades", gradePanel);
         tabbedPane.addTab("Reports", reportPanel);
 
-        add(tabbedPane);
+        add(tabbedPane, BorderLayout.CENTER);
+        add(taskRunner.getStatusBar(), BorderLayout.SOUTH);
+    }
+
+    public BackgroundTaskRunner getTaskRunner() {
+        return taskRunner;
+    }
+
+    private static <V> EntityCache<V> createCache(String name) {
+        return new EntityCache<>(name, DatabaseConfig.getEntityCacheMaxSize(), DatabaseConfig.getEntityCacheTtlSeconds(),
+                DatabaseConfig.isEntityCacheEnabled());
+    }
+
+    // For hit-rate statistics and switching caching on or off at runtime
+    public List<EntityCache<?>> getCaches() {
+        return List.of(studentCache, courseCache, departmentCache, professorCache);
     }
     
     // Data access methods
@@ -75,10 +154,26 @@ class MainFrame extends JFrame {
         return this.courseDAO.getAllCourses();
     }
     
+    // Served from memory after the first call, which loads the reference data
     public List<Department> getDepartments() {
-        return departmentDAO.getAllDepartments();
+        return referenceData.getDepartments();
+    }
+
+    // Once true, getDepartments and getProfessorsByDepartment never touch the database
+    public boolean isReferenceDataLoaded() {
+        return referenceData.isLoaded();
     }
     
+    // Served from memory after the first call, which reads the terms from the Enrollment table
+    public List<String> getTermYears() {
+        return termCatalog.getYears();
+    }
+
+    // Once true, getTermYears never touches the database
+    public boolean isTermCatalogLoaded() {
+        return termCatalog.isLoaded();
+    }
+
     public List<Professor> getProfessors() {
         return professorDAO.getAllProfessors();
     }
@@ -92,6 +187,10 @@ class MainFrame extends JFrame {
         return this.enrollmentDAO.addEnrollment(enrollment);
     }
 
+    public EnrollmentResult enrollStudent(int studentId, int courseId, String year, String semester) {
+        return this.enrollmentDAO.enrollStudent(studentId, courseId, year, semester);
+    }
+
     public Enrollment findEnrollmentInDB(int studentId, int courseId, String year, String semester) {
         return this.enrollmentDAO.findEnrollment(studentId, courseId, year, semester);
     }
@@ -104,50 +203,223 @@ class MainFrame extends JFrame {
         return this.enrollmentDAO.getEnrollmentsByCourseId(courseId);
     }
 
+    public List<EnrollmentDetail> getEnrollmentDetailsForStudent(int studentId) {
+        return this.enrollmentDAO.getEnrollmentDetailsByStudentId(studentId);
+    }
+
+    public List<EnrollmentDetail> getEnrollmentDetailsForCourse(int courseId) {
+        return this.enrollmentDAO.getEnrollmentDetailsByCourseId(courseId);
+    }
+
+    public int countEnrollmentsForStudent(int studentId) {
+        return this.enrollmentDAO.countEnrollmentsByStudentId(studentId);
+    }
+
+    public Page<EnrollmentDetail> getEnrollmentDetailsPageForStudent(int studentId, PageCursor cursor) {
+        return this.enrollmentDAO.getEnrollmentDetailsPageByStudentId(studentId, cursor);
+    }
+
+    public int countEnrollmentsForCourse(int courseId) {
+        return this.enrollmentDAO.countEnrollmentsByCourseId(courseId);
+    }
+
+    public Page<EnrollmentDetail> getEnrollmentDetailsPageForCourse(int courseId, PageCursor cursor) {
+        return this.enrollmentDAO.getEnrollmentDetailsPageByCourseId(courseId, cursor);
+    }
+
+    public List<RosterEntry> getCourseRoster(int courseId, String year, String semester) {
+        return this.enrollmentDAO.getCourseRoster(courseId, year, semester);
+    }
+
+    public CompletableFuture<List<RosterEntry>> getCourseRosterAsync(int courseId, String year, String semester) {
+        return this.enrollmentDAO.getCourseRosterAsync(courseId, year, semester);
+    }
+
     public boolean updateGradeInDB(int studentId, int courseId, String year, String semester, String grade) {
         return this.enrollmentDAO.updateGrade(studentId, courseId, year, semester, grade);
     }
-    
-    // Method to refresh all department combos
-    public void refreshDepartmentCombos() {
-        if (coursePanel != null) {
-            coursePanel.updateDepartmentCombo();
-            coursePanel.updateProfessorCombo();
-        }
-        if (professorPanel != null) {
-            professorPanel.updateDepartmentCombo();
-        }
+
+    // Reads the student's transcript on first use; later calls are answered from memory
+    public StudentGpa getStudentGpa(int studentId) {
+        return gpaService.getGpa(studentId);
     }
-    
-    // Add new method for professor updates
-    public void refreshProfessorCombos() {
-        if (coursePanel != null) {
-            coursePanel.updateProfessorCombo();
-        }
+
+    // Grade statistics read their enrollments on first use; later calls are answered from memory
+    public GradeDistribution getCourseGradeDistribution(int courseId, String year, String semester) {
+        return gradeStatistics.getCourseDistribution(courseId, year, semester);
+    }
+
+    public GradeDistribution getProfessorGradeDistribution(int profId, String year, String semester) {
+        return gradeStatistics.getProfessorDistribution(profId, year, semester);
+    }
+
+    public GradeDistribution getDepartmentGradeDistribution(int deptId, String year, String semester) {
+        return gradeStatistics.getDepartmentDistribution(deptId, year, semester);
+    }
+
+    public BulkGradeResult updateGradesInDB(int courseId, String year, String semester, Map<Integer, String> gradesByStudentId) {
+        return this.enrollmentDAO.updateGrades(courseId, year, semester, gradesByStudentId);
     }
     
-    // Helper methods for finding objects by ID
+    // Helper methods for finding objects by ID; served from the entity caches when possible
     public Student findStudentById(int id) {
-        return this.studentDAO.getStudentById(id);
+        return studentCache.get(id, this.studentDAO::getStudentById);
     }
     
     public Course findCourseById(int id) {
-        return this.courseDAO.getCourseById(id);
+        return courseCache.get(id, this.courseDAO::getCourseById);
     }
     
+    public CompletableFuture<Course> findCourseByIdAsync(int id) {
+        Course cached = courseCache.getIfPresent(id);
+        return cached != null ? CompletableFuture.completedFuture(cached) : DaoExecutor.supplyAsync(() -> findCourseById(id));
+    }
+
     public Course findCourseByCourseNumber(String courseNumber) {
         return this.courseDAO.getCourseByCourseNumber(courseNumber);
     }
     
     public Department findDepartmentById(int id) {
-        return departmentDAO.getDepartmentById(id);
+        return departmentCache.get(id, departmentDAO::getDepartmentById);
     }
     
     public Professor findProfessorById(int id) {
-        return professorDAO.getProfessorById(id);
+        return professorCache.get(id, professorDAO::getProfessorById);
+    }
+
+    // Entity writes; the DAOs publish each committed change, which keeps the caches in step
+    public boolean addStudent(Student student) {
+        return studentDAO.addStudent(student);
+    }
+
+    public boolean updateStudent(Student student) {
+        boolean updated = studentDAO.updateStudent(student);
+        if (!updated) {
+            studentCache.invalidate(student.getId()); // Probably deleted elsewhere
+        }
+        return updated;
+    }
+
+    public boolean addCourse(Course course) {
+        return courseDAO.addCourse(course);
+    }
+
+    public boolean updateCourse(Course course) {
+        boolean updated = courseDAO.updateCourse(course);
+        if (!updated) {
+            courseCache.invalidate(course.getId());
+        }
+        return updated;
+    }
+
+    public boolean addDepartment(Department department) {
+        return departmentDAO.addDepartment(department);
+    }
+
+    public boolean updateDepartment(Department department) {
+        boolean updated = departmentDAO.updateDepartment(department);
+        if (!updated) {
+            departmentCache.invalidate(department.getId());
+        }
+        return updated;
+    }
+
+    public boolean deleteDepartment(int id) {
+        boolean deleted = departmentDAO.deleteDepartment(id);
+        if (!deleted) {
+            departmentCache.invalidate(id);
+        }
+        return deleted;
+    }
+
+    public boolean addProfessor(Professor professor) {
+        return professorDAO.addProfessor(professor);
+    }
+
+    public boolean updateProfessor(Professor professor) {
+        boolean updated = professorDAO.updateProfessor(professor);
+        if (!updated) {
+            professorCache.invalidate(professor.getProf_id());
+        }
+        return updated;
+    }
+
+    public boolean deleteProfessor(int id) {
+        boolean deleted = professorDAO.deleteProfessor(id);
+        if (!deleted) {
+            professorCache.invalidate(id);
+        }
+        return deleted;
+    }
+
+    // Called on the writing thread before the DAO call returns, so a lookup after a write never sees the old row
+    private void subscribeToChanges() {
+        ChangeBus bus = ChangeBus.get();
+        // One subscription per consumer, so a consumer that throws cannot keep the event from the others
+        bus.subscribe(StudentChanged.class, change -> applyChange(studentCache, change));
+        bus.subscribe(CourseChanged.class, change -> applyChange(courseCache, change));
+        bus.subscribe(DepartmentChanged.class, change -> {
+            applyChange(departmentCache, change);
+            if (change.getType() == ChangeEvent.Type.DELETED) {
+                // ON DELETE SET NULL clears dept_id on the department's professors and courses
+                professorCache.invalidateAll();
+                courseCache.invalidateAll();
+            }
+        });
+        bus.subscribe(ProfessorChanged.class, change -> {
+            applyChange(professorCache, change);
+            if (change.getType() == ChangeEvent.Type.DELETED) {
+                // ON DELETE SET NULL clears prof_id on the professor's courses
+                courseCache.invalidateAll();
+            }
+        });
+
+        bus.subscribe(DepartmentChanged.class, change -> {
+            if (change.getType() == ChangeEvent.Type.DELETED) {
+                referenceData.departmentDeleted(change.getId());
+            } else {
+                referenceData.departmentSaved(change.getEntity());
+            }
+        });
+        bus.subscribe(ProfessorChanged.class, change -> {
+            if (change.getType() == ChangeEvent.Type.DELETED) {
+                referenceData.professorDeleted(change.getId());
+            } else {
+                referenceData.professorSaved(change.getEntity());
+            }
+        });
+        bus.subscribe(EnrollmentChanged.class, change -> {
+            if (change.getType() == ChangeEvent.Type.ADDED && change.getTerm() != null) {
+                termCatalog.termUsed(change.getTerm());
+            }
+        });
+
+        bus.subscribe(StudentChanged.class, gpaService::studentChanged);
+        bus.subscribe(CourseChanged.class, gpaService::courseChanged);
+        bus.subscribe(EnrollmentChanged.class, gpaService::enrollmentChanged);
+
+        bus.subscribe(StudentChanged.class, gradeStatistics::studentChanged);
+        bus.subscribe(CourseChanged.class, gradeStatistics::courseChanged);
+        bus.subscribe(EnrollmentChanged.class, gradeStatistics::enrollmentChanged);
+        bus.subscribe(DepartmentChanged.class, gradeStatistics::departmentChanged);
+        bus.subscribe(ProfessorChanged.class, gradeStatistics::professorChanged);
+    }
+
+    private static <V> void applyChange(EntityCache<V> cache, EntityChanged<V> change) {
+        switch (change.getType()) {
+            case UPDATED:
+                cache.put(change.getId(), change.getEntity());
+                break;
+            case DELETED:
+                cache.invalidate(change.getId());
+                break;
+            default:
+                // A new ID has nothing stale to replace, and caching every imported row would flush the cache
+                break;
+        }
     }
     
     public List<Professor> getProfessorsByDepartment(int departmentId) {
-        return professorDAO.getProfessorsByDepartmentId(departmentId);
+        return referenceData.getProfessorsByDepartment(departmentId);
     }
 } 
\ No newline at end of file
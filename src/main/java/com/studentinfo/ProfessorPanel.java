@@ -1,8 +1,12 @@
 package com.studentinfo;
 
 import com.studentinfo.dao.ProfessorDAO;
+import com.studentinfo.event.ChangeBatch;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.ChangeEvent;
+import com.studentinfo.event.DepartmentChanged;
+import com.studentinfo.event.ProfessorChanged;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
@@ -11,6 +15,9 @@ import java.util.List;
  * Handles adding, editing, and searching professor records using ProfessorDAO.
  */
 class ProfessorPanel extends JPanel {
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 20;
+
     private MainFrame mainFrame;
     private ProfessorDAO professorDAO;
     private JTextField idField, nameField, emailField, phoneField;
@@ -18,13 +25,16 @@ class ProfessorPanel extends JPanel {
     private JButton addButton, searchButton, editButton, resetButton, deleteButton;
     private JLabel statusLabel;
     private JTable professorTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<Professor> tableModel;
+    private SwingWorker<?, ?> pendingRefresh;
 
     public ProfessorPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.professorDAO = new ProfessorDAO(); // Initialize ProfessorDAO
         setupUI();
         refreshProfessorTable(); // Load data into table on setup
+        ChangeBus.get().subscribeCoalesced(ProfessorChanged.class, SwingUtilities::invokeLater, this::professorsChanged);
+        ChangeBus.get().subscribeCoalesced(DepartmentChanged.class, SwingUtilities::invokeLater, this::departmentsChanged);
     }
 
     private void setupUI() {
@@ -75,7 +85,17 @@ class ProfessorPanel extends JPanel {
 
         // Table panel
         String[] columnNames = {"ID", "Name", "Email", "Phone", "Department ID"}; // Display dept_id for now
-        tableModel = new DefaultTableModel(columnNames, 0);
+        // For now, display dept_id. To display department name, a JOIN in SQL or a lookup is needed.
+        tableModel = new LazyTableModel<>(columnNames, (prof, column) -> {
+            switch (column) {
+                case 0: return prof.getProf_id();
+                case 1: return prof.getProf_name();
+                case 2: return prof.getEmail();
+                case 3: return prof.getPhone();
+                default: return prof.getDept_id();
+            }
+        }, PAGE_SIZE, CACHED_PAGES);
+        tableModel.setErrorHandler(e -> JOptionPane.showMessageDialog(this, "Database error while loading professors: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE));
         professorTable = new JTable(tableModel);
         professorTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane tableScrollPane = new JScrollPane(professorTable);
@@ -100,9 +120,17 @@ class ProfessorPanel extends JPanel {
         });
     }
 
-    public void updateDepartmentCombo() {
+    private void updateDepartmentCombo() {
+        // Reference data held by MainFrame; only the first load goes to the database
+        if (mainFrame.isReferenceDataLoaded()) {
+            fillDepartmentCombo(mainFrame.getDepartments());
+        } else {
+            mainFrame.getTaskRunner().runQuery(this, "Loading departments...", mainFrame::getDepartments, this::fillDepartmentCombo);
+        }
+    }
+
+    private void fillDepartmentCombo(List<Department> departments) {
         departmentCombo.removeAllItems();
-        List<Department> departments = mainFrame.getDepartments(); // Fetches from DepartmentDAO via MainFrame
         if (departments != null) {
             for (Department dept : departments) {
                 departmentCombo.addItem(dept);
@@ -110,6 +138,45 @@ class ProfessorPanel extends JPanel {
         }
     }
 
+    // Applies committed changes to the rows already on screen instead of reloading the table
+    private void professorsChanged(ChangeBatch<ProfessorChanged> batch) {
+        if (batch.isOverflow()) {
+            refreshProfessorTable();
+            return;
+        }
+        int added = 0;
+        for (ProfessorChanged change : batch.getEvents()) {
+            switch (change.getType()) {
+                case ADDED:
+                    added++;
+                    break;
+                case UPDATED:
+                    tableModel.updateLoadedRows(prof -> prof.getProf_id() == change.getId() ? change.getEntity() : prof);
+                    break;
+                default:
+                    tableModel.removeRow(prof -> prof.getProf_id() == change.getId());
+                    break;
+            }
+        }
+        tableModel.addRows(added);
+    }
+
+    private void departmentsChanged(ChangeBatch<DepartmentChanged> batch) {
+        updateDepartmentCombo();
+        if (batch.isOverflow()) {
+            refreshProfessorTable(); // Deleted departments are not known individually
+            return;
+        }
+        for (DepartmentChanged change : batch.getEvents()) {
+            if (change.getType() == ChangeEvent.Type.DELETED) {
+                // ON DELETE SET NULL left the department's professors without one
+                int deptId = change.getId();
+                tableModel.updateLoadedRows(prof -> prof.getDept_id() != deptId ? prof
+                        : new Professor(prof.getProf_id(), prof.getProf_name(), prof.getEmail(), prof.getPhone(), 0));
+            }
+        }
+    }
+
     private void addProfessor() {
         String name = nameField.getText().trim();
         String email = emailField.getText().trim();
@@ -122,24 +189,18 @@ class ProfessorPanel extends JPanel {
         }
         // Prof ID is auto-incremented by DB, so we don't set it here
         Professor professor = new Professor(0, name, email, phone, selectedDepartment.getId()); 
-        try {
-            boolean success = professorDAO.addProfessor(professor);
+        mainFrame.getTaskRunner().runUpdate(this, "Adding professor...", () -> mainFrame.addProfessor(professor), success -> {
             if (success) {
                 JOptionPane.showMessageDialog(this, "Professor added successfully with ID: " + professor.getProf_id(), "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshProfessorTable();
                 resetFields();
-                mainFrame.refreshProfessorCombos(); // Refresh combos in other panels if necessary
             }
-        } catch (RuntimeException e) {
-            JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void searchProfessor() {
         try {
             int id = Integer.parseInt(JOptionPane.showInputDialog(this, "Enter Professor ID to search:"));
-            try {
-                Professor professor = professorDAO.getProfessorById(id);
+            mainFrame.getTaskRunner().runQuery(this, "Searching for professor " + id + "...", () -> mainFrame.findProfessorById(id), professor -> {
                 if (professor != null) {
                     populateFields(professor);
                     statusLabel.setText("Professor found.");
@@ -147,9 +208,7 @@ class ProfessorPanel extends JPanel {
                     JOptionPane.showMessageDialog(this, "Professor ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
                     statusLabel.setText("Professor not found.");
                 }
-            } catch (RuntimeException e) {
-                JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID format. Please enter a number.", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -173,17 +232,12 @@ class ProfessorPanel extends JPanel {
             }
 
             Professor professor = new Professor(id, name, email, phone, selectedDepartment.getId());
-            try {
-                boolean success = professorDAO.updateProfessor(professor);
+            mainFrame.getTaskRunner().runUpdate(this, "Updating professor...", () -> mainFrame.updateProfessor(professor), success -> {
                 if (success) {
                     JOptionPane.showMessageDialog(this, "Professor updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    refreshProfessorTable();
                     resetFields();
-                    mainFrame.refreshProfessorCombos();
                 }
-            } catch (RuntimeException e) {
-                JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID format for update. Select a professor first.", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -198,45 +252,26 @@ class ProfessorPanel extends JPanel {
             int id = Integer.parseInt(idField.getText().trim());
             int confirmation = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete professor ID: " + id + "?", "Confirm Deletion", JOptionPane.YES_NO_OPTION);
             if (confirmation == JOptionPane.YES_OPTION) {
-                try {
-                    boolean success = professorDAO.deleteProfessor(id);
+                mainFrame.getTaskRunner().runUpdate(this, "Deleting professor...", () -> mainFrame.deleteProfessor(id), success -> {
                     if (success) {
                         JOptionPane.showMessageDialog(this, "Professor deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                        refreshProfessorTable();
                         resetFields();
-                        mainFrame.refreshProfessorCombos();
                     }
-                } catch (RuntimeException e) {
-                    JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-                }
+                });
             }
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID for deletion. Select a professor first.", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
     
+    // Only the row count is fetched here; the table loads the rows it displays as it scrolls
     public void refreshProfessorTable() {
-        tableModel.setRowCount(0); // Clear existing data
-        try {
-            List<Professor> professors = professorDAO.getAllProfessors();
-            if (professors != null) {
-                for (Professor prof : professors) {
-                    // For now, display dept_id. To display department name, a JOIN in SQL or a lookup is needed.
-                    // Example: Department dept = mainFrame.findDepartmentById(prof.getDept_id());
-                    // String deptName = (dept != null) ? dept.getName() : "Unknown";
-                    Object[] rowData = {
-                        prof.getProf_id(), 
-                        prof.getProf_name(), 
-                        prof.getEmail(), 
-                        prof.getPhone(), 
-                        prof.getDept_id() // or deptName if implementing the lookup
-                    };
-                    tableModel.addRow(rowData);
-                }
-            }
-        } catch (RuntimeException e) {
-            JOptionPane.showMessageDialog(this, "Database error while refreshing table: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(true);
         }
+        pendingRefresh = mainFrame.getTaskRunner().runQuery(this, "Loading professors...", professorDAO::countProfessors,
+                count -> tableModel.reset(count, professorDAO::getProfessorsPage),
+                e -> JOptionPane.showMessageDialog(this, "Database error while refreshing table: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE));
     }
 
     private void populateFields(Professor professor) {
@@ -244,40 +279,33 @@ class ProfessorPanel extends JPanel {
         nameField.setText(professor.getProf_name());
         emailField.setText(professor.getEmail());
         phoneField.setText(professor.getPhone());
-        Department department = mainFrame.findDepartmentById(professor.getDept_id());
-        if (department != null) {
-            for (int i = 0; i < departmentCombo.getItemCount(); i++) {
-                if (departmentCombo.getItemAt(i).getId() == department.getId()) {
-                    departmentCombo.setSelectedIndex(i);
-                    break;
-                }
-            }
-        }
+        selectDepartment(professor.getDept_id());
         statusLabel.setText("Professor details loaded.");
     }
 
     private void populateFieldsFromTable() {
         int selectedRow = professorTable.getSelectedRow();
-        if (selectedRow != -1) {
-            idField.setText(tableModel.getValueAt(selectedRow, 0).toString());
-            nameField.setText(tableModel.getValueAt(selectedRow, 1).toString());
-            emailField.setText(tableModel.getValueAt(selectedRow, 2).toString());
-            phoneField.setText(tableModel.getValueAt(selectedRow, 3).toString());
-            int deptId = (int) tableModel.getValueAt(selectedRow, 4);
-            
-            Department department = mainFrame.findDepartmentById(deptId);
-            if (department != null) {
-                for (int i = 0; i < departmentCombo.getItemCount(); i++) {
-                    if (departmentCombo.getItemAt(i).getId() == department.getId()) {
-                        departmentCombo.setSelectedIndex(i);
-                        break;
-                    }
-                }
-            }
+        Professor professor = selectedRow != -1 ? tableModel.getRow(selectedRow) : null;
+        if (professor != null) {
+            idField.setText(String.valueOf(professor.getProf_id()));
+            nameField.setText(professor.getProf_name());
+            emailField.setText(professor.getEmail());
+            phoneField.setText(professor.getPhone());
+            selectDepartment(professor.getDept_id());
             statusLabel.setText("Selected Professor: " + nameField.getText());
         }
     }
 
+    // The combo already holds every department, so no database lookup is needed to select one
+    private void selectDepartment(int deptId) {
+        for (int i = 0; i < departmentCombo.getItemCount(); i++) {
+            if (departmentCombo.getItemAt(i).getId() == deptId) {
+                departmentCombo.setSelectedIndex(i);
+                break;
+            }
+        }
+    }
+
     private void resetFields() {
         idField.setText(""); 
         nameField.setText("");
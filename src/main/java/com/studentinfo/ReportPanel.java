@@ -2,6 +2,10 @@ package com.studentinfo;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import com.studentinfo.analytics.GradeDistribution;
 
 
 /**
@@ -11,11 +15,8 @@ class ReportPanel extends JPanel {
     private MainFrame mainFrame;
     private JTextField courseIdField;
     private JComboBox<String> yearCombo, semesterCombo;
-    private JButton generateReportButton;
+    private JButton generateReportButton, statisticsButton;
     private JTextArea reportArea;
-    
-    private String[] years = {"2023", "2024", "2025"};
-    private String[] semesters = {"Fall", "Spring", "Summer"};
 
     public ReportPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -34,16 +35,20 @@ class ReportPanel extends JPanel {
         formPanel.add(courseIdField);
         
         formPanel.add(new JLabel("Year:"));
-        yearCombo = new JComboBox<>(years);
+        yearCombo = new YearCombo(mainFrame);
         formPanel.add(yearCombo);
         
         formPanel.add(new JLabel("Semester:"));
-        semesterCombo = new JComboBox<>(semesters);
+        semesterCombo = new JComboBox<>(Term.Season.labels());
+        semesterCombo.setSelectedItem(Term.Season.FALL.getLabel());
         formPanel.add(semesterCombo);
         
         generateReportButton = new JButton("Generate Report");
         formPanel.add(generateReportButton);
 
+        statisticsButton = new JButton("Grade Statistics");
+        formPanel.add(statisticsButton);
+
         // Report area
         reportArea = new JTextArea(20, 50);
         reportArea.setEditable(false);
@@ -55,6 +60,7 @@ class ReportPanel extends JPanel {
 
         // Add action listeners
         generateReportButton.addActionListener(e -> generateReport());
+        statisticsButton.addActionListener(e -> generateStatistics());
     }
 
     /**
@@ -66,57 +72,112 @@ class ReportPanel extends JPanel {
             String year = yearCombo.getSelectedItem().toString();
             String semester = semesterCombo.getSelectedItem().toString();
             
-            Course course = mainFrame.findCourseById(courseId);
-            if (course == null) {
-                JOptionPane.showMessageDialog(this, "Course ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            
-            StringBuilder report = new StringBuilder();
-            report.append("Course Report\n");
-            report.append("=============\n\n");
-            report.append("Course ID: ").append(courseId).append("\n");
-            report.append("Course Name: ").append(course.getCourseName()).append("\n");
-            report.append("Department ID: ").append(course.getDepartmentId()).append("\n");
-            report.append("Credits: ").append(course.getCredits()).append("\n");
-            report.append("Year: ").append(year).append("\n");
-            report.append("Semester: ").append(semester).append("\n\n");
-            report.append("Enrolled Students:\n");
-            report.append("==================\n\n");
-            
-            // Use monospaced font for better alignment
-            Font originalFont = reportArea.getFont();
-            Font monoFont = new Font(Font.MONOSPACED, Font.PLAIN, originalFont.getSize());
-            reportArea.setFont(monoFont);
-            
-            // Header with fixed-width columns
-            report.append(String.format("%-10s %-30s %-10s\n", "Student ID", "Name", "Grade"));
-            report.append(String.format("%-10s %-30s %-10s\n", "----------", "------------------------------", "----------"));
-            
-            boolean studentsFound = false;
-            for (Enrollment enrollment : mainFrame.getAllEnrollmentsFromDB()) {
-                if (enrollment.getCourseId() == courseId && 
-                    enrollment.getYear().equals(year) && 
-                    enrollment.getSemester().equals(semester)) {
-                    
-                    Student student = mainFrame.findStudentById(enrollment.getStudentId());
-                    if (student != null) {
-                        report.append(String.format("%-10d %-30s %-10s\n", 
-                                    student.getId(), 
-                                    student.getName(), 
-                                    enrollment.getGrade() != null ? enrollment.getGrade() : "Not Graded"));
-                        studentsFound = true;
-                    }
+            mainFrame.getTaskRunner().runQuery(this, "Generating report...", () -> {
+                // The course and its roster are independent, so fetch them in parallel
+                CompletableFuture<Course> courseFuture = mainFrame.findCourseByIdAsync(courseId);
+                CompletableFuture<List<RosterEntry>> rosterFuture = mainFrame.getCourseRosterAsync(courseId, year, semester);
+                Course course = courseFuture.join();
+                return course != null ? buildReport(course, rosterFuture.join(), year, semester) : null;
+            }, report -> {
+                showReport(report);
+            });
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Invalid Course ID. Please enter a number.", "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Shows the grade distribution of the course in the selected semester, next to those of its
+     * professor and department in the same semester.
+     */
+    private void generateStatistics() {
+        try {
+            int courseId = Integer.parseInt(courseIdField.getText().trim());
+            String year = yearCombo.getSelectedItem().toString();
+            String semester = semesterCombo.getSelectedItem().toString();
+
+            mainFrame.getTaskRunner().runQuery(this, "Computing grade statistics...", () -> {
+                Course course = mainFrame.findCourseById(courseId);
+                if (course == null) {
+                    return null;
                 }
-            }
-            
-            if (!studentsFound) {
-                report.append("No students enrolled in this course for the selected semester.\n");
-            }
-            
-            reportArea.setText(report.toString());
+                StringBuilder report = new StringBuilder();
+                report.append("Grade Statistics, ").append(semester).append(" ").append(year).append("\n");
+                report.append("=============================\n\n");
+                appendDistribution(report, "Course " + course.getCourseNumber() + " - " + course.getCourseName(),
+                        mainFrame.getCourseGradeDistribution(courseId, year, semester));
+                if (course.getProfessorId() != 0) {
+                    appendDistribution(report, "All courses of professor " + course.getProfessorId(),
+                            mainFrame.getProfessorGradeDistribution(course.getProfessorId(), year, semester));
+                }
+                if (course.getDepartmentId() != 0) {
+                    appendDistribution(report, "All courses of department " + course.getDepartmentId(),
+                            mainFrame.getDepartmentGradeDistribution(course.getDepartmentId(), year, semester));
+                }
+                return report.toString();
+            }, this::showReport);
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid Course ID. Please enter a number.", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
-} 
\ No newline at end of file
+
+    private void showReport(String report) {
+        if (report == null) {
+            JOptionPane.showMessageDialog(this, "Course ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        // Use monospaced font for better alignment
+        Font originalFont = reportArea.getFont();
+        Font monoFont = new Font(Font.MONOSPACED, Font.PLAIN, originalFont.getSize());
+        reportArea.setFont(monoFont);
+        reportArea.setText(report);
+        reportArea.setCaretPosition(0);
+    }
+
+    private static void appendDistribution(StringBuilder report, String title, GradeDistribution distribution) {
+        report.append(title).append("\n");
+        int largest = 1;
+        for (int count : distribution.getCounts().values()) {
+            largest = Math.max(largest, count);
+        }
+        for (Map.Entry<String, Integer> entry : distribution.getCounts().entrySet()) {
+            int bar = (int) Math.round(entry.getValue() * 40.0 / largest);
+            report.append(String.format("  %-4s %5d  %s\n", entry.getKey(), entry.getValue(), "#".repeat(bar)));
+        }
+        report.append(String.format("  Enrolled: %d, not graded: %d\n", distribution.getEnrolled(), distribution.getUngraded()));
+        report.append(String.format("  Mean grade points: %s, pass rate: %s\n\n",
+                distribution.getMeanPoints() == null ? "n/a" : String.format("%.2f", distribution.getMeanPoints()),
+                distribution.getPassRate() == null ? "n/a" : String.format("%.1f%%", distribution.getPassRate() * 100)));
+    }
+
+    private String buildReport(Course course, List<RosterEntry> roster, String year, String semester) {
+        StringBuilder report = new StringBuilder();
+        report.append("Course Report\n");
+        report.append("=============\n\n");
+        report.append("Course ID: ").append(course.getId()).append("\n");
+        report.append("Course Name: ").append(course.getCourseName()).append("\n");
+        report.append("Department ID: ").append(course.getDepartmentId()).append("\n");
+        report.append("Credits: ").append(course.getCredits()).append("\n");
+        report.append("Year: ").append(year).append("\n");
+        report.append("Semester: ").append(semester).append("\n\n");
+        report.append("Enrolled Students:\n");
+        report.append("==================\n\n");
+        
+        // Header with fixed-width columns
+        report.append(String.format("%-10s %-30s %-10s\n", "Student ID", "Name", "Grade"));
+        report.append(String.format("%-10s %-30s %-10s\n", "----------", "------------------------------", "----------"));
+        
+        for (RosterEntry entry : roster) {
+            report.append(String.format("%-10d %-30s %-10s\n", 
+                        entry.getStudentId(), 
+                        entry.getStudentName(), 
+                        entry.getGrade() != null ? entry.getGrade() : "Not Graded"));
+        }
+        
+        if (roster.isEmpty()) {
+            report.append("No students enrolled in this course for the selected semester.\n");
+        }
+        
+        return report.toString();
+    }
+}
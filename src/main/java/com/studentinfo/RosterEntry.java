@@ -0,0 +1,22 @@
+package com.studentinfo;
+
+/**
+ * One line of a course roster: an enrolled student and the grade for that term.
+ */
+public class RosterEntry {
+    private final int studentId;
+    private final String studentName;
+    private final String grade; // Null until grade is assigned
+
+    public RosterEntry(int studentId, String studentName, String grade) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.grade = grade;
+    }
+
+    public int getStudentId() { return studentId; }
+
+    public String getStudentName() { return studentName; }
+
+    public String getGrade() { return grade; }
+}
@@ -2,12 +2,23 @@ package com.studentinfo;
 
 import javax.swing.*;
 
+import com.studentinfo.migration.MigrationRunner;
+import com.studentinfo.util.DatabaseConfig;
+
 /**
  * Student Information System - Manages student records, courses, enrollments, and grades.
  * Uses Swing for UI and file-based storage for persistence.
  */
 public class StudentInformationSystem {
     public static void main(String[] args) {
+        if (DatabaseConfig.isMigrationEnabled()) {
+            try {
+                new MigrationRunner().migrate();
+            } catch (RuntimeException e) {
+                // Start anyway so the data stays reachable; MigrationRunner can be rerun on its own once fixed
+                System.err.println("WARNING: Schema migration failed: " + e.getMessage());
+            }
+        }
         SwingUtilities.invokeLater(() -> {
             MainFrame mainFrame = new MainFrame();
             mainFrame.setVisible(true);
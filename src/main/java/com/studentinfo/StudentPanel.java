@@ -1,30 +1,43 @@
 package com.studentinfo;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 import com.studentinfo.dao.StudentDAO;
+import com.studentinfo.dao.StudentImportResult;
+import com.studentinfo.util.DatabaseConfig;
+import com.studentinfo.zip.ZipLocation;
+import com.studentinfo.zip.ZipLookupService;
+import com.studentinfo.zip.ZipResolvers;
 
 /**
  * Student management panel with ZIP code lookup integration.
  * Handles adding, editing, and searching student records.
  */
 class StudentPanel extends JPanel {
+    private static final int MAX_FAILURES_SHOWN = 20;
+
     private MainFrame mainFrame;
     private StudentDAO studentDAO;
+    private ZipLookupService zipLookup;
+    private CompletableFuture<ZipLocation> pendingZipLookup;
     private JTextField idField, nameField, addressField, cityField, stateField, zipField;
-    private JButton addButton, searchButton, editButton, resetButton, lookupZipButton;
+    private JButton addButton, searchButton, editButton, resetButton, lookupZipButton, importButton;
     private JLabel statusLabel;
 
     public StudentPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.studentDAO = new StudentDAO();
+        this.zipLookup = new ZipLookupService(ZipResolvers.fromConfig(), DatabaseConfig.getZipCacheSize());
         setupUI();
     }
 
@@ -67,6 +80,17 @@ class StudentPanel extends JPanel {
                 lookupZipCode(zipCode);
             }
         });
+        // Look up as soon as a full ZIP has been typed; lookups don't block, so typing carries on
+        zipField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { zipEdited(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { zipEdited(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { }
+        });
         zipPanel.add(zipField, BorderLayout.CENTER);
         zipPanel.add(lookupZipButton, BorderLayout.EAST);
         formPanel.add(zipPanel);
@@ -80,11 +104,13 @@ class StudentPanel extends JPanel {
         searchButton = new JButton("Search");
         editButton = new JButton("Edit Student");
         resetButton = new JButton("Reset");
+        importButton = new JButton("Import CSV...");
 
         buttonPanel.add(addButton);
         buttonPanel.add(searchButton);
         buttonPanel.add(editButton);
         buttonPanel.add(resetButton);
+        buttonPanel.add(importButton);
 
         // Add components to main panel
         add(formPanel, BorderLayout.CENTER);
@@ -95,6 +121,7 @@ class StudentPanel extends JPanel {
         searchButton.addActionListener(e -> searchStudent());
         editButton.addActionListener(e -> editStudent());
         resetButton.addActionListener(e -> resetFields());
+        importButton.addActionListener(e -> importStudents());
     }
 
     private void addStudent() {
@@ -111,15 +138,17 @@ class StudentPanel extends JPanel {
 
         Student newStudent = new Student(0, name, address, city, state, zip);
 
-        if (studentDAO.addStudent(newStudent)) {
-            JOptionPane.showMessageDialog(this, "Student added successfully. New ID: " + newStudent.getId(), "Success", JOptionPane.INFORMATION_MESSAGE);
-            idField.setText(String.valueOf(newStudent.getId()));
-            idField.setEditable(false);
-            idField.setBackground(UIManager.getColor("TextField.inactiveBackground"));
-            resetFields(false);
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to add student to the database.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        mainFrame.getTaskRunner().runUpdate(this, "Adding student...", () -> mainFrame.addStudent(newStudent), added -> {
+            if (added) {
+                JOptionPane.showMessageDialog(this, "Student added successfully. New ID: " + newStudent.getId(), "Success", JOptionPane.INFORMATION_MESSAGE);
+                idField.setText(String.valueOf(newStudent.getId()));
+                idField.setEditable(false);
+                idField.setBackground(UIManager.getColor("TextField.inactiveBackground"));
+                resetFields(false);
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to add student to the database.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void searchStudent() {
@@ -132,23 +161,23 @@ class StudentPanel extends JPanel {
                 return;
             }
             int id = Integer.parseInt(idField.getText().trim());
-            Student student = studentDAO.getStudentById(id);
-
-            if (student != null) {
-                idField.setEditable(false);
-                idField.setBackground(UIManager.getColor("TextField.inactiveBackground"));
-                nameField.setText(student.getName());
-                addressField.setText(student.getAddress());
-                cityField.setText(student.getCity());
-                stateField.setText(student.getState());
-                zipField.setText(student.getZip());
-                statusLabel.setText("Student found. ID: " + student.getId());
-                editButton.setEnabled(true);
-                addButton.setEnabled(false);
-            } else {
-                JOptionPane.showMessageDialog(this, "Student ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
-                resetFields(true);
-            }
+            mainFrame.getTaskRunner().runQuery(this, "Searching for student " + id + "...", () -> mainFrame.findStudentById(id), student -> {
+                if (student != null) {
+                    idField.setEditable(false);
+                    idField.setBackground(UIManager.getColor("TextField.inactiveBackground"));
+                    nameField.setText(student.getName());
+                    addressField.setText(student.getAddress());
+                    cityField.setText(student.getCity());
+                    stateField.setText(student.getState());
+                    zipField.setText(student.getZip());
+                    statusLabel.setText("Student found. ID: " + student.getId());
+                    editButton.setEnabled(true);
+                    addButton.setEnabled(false);
+                } else {
+                    JOptionPane.showMessageDialog(this, "Student ID not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                    resetFields(true);
+                }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID format. Please enter a number.", "Error", JOptionPane.ERROR_MESSAGE);
             resetFields(true);
@@ -171,17 +200,74 @@ class StudentPanel extends JPanel {
 
             Student studentToUpdate = new Student(id, name, address, city, state, zip);
 
-            if (studentDAO.updateStudent(studentToUpdate)) {
-                JOptionPane.showMessageDialog(this, "Student updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                resetFields(true);
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to update student. Make sure the ID is correct.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            mainFrame.getTaskRunner().runUpdate(this, "Updating student...", () -> mainFrame.updateStudent(studentToUpdate), updated -> {
+                if (updated) {
+                    JOptionPane.showMessageDialog(this, "Student updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    resetFields(true);
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to update student. Make sure the ID is correct.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid ID format in ID field. This should not happen if search was performed first.", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    /**
+     * Imports students from a CSV file (name,address,city,state,zip) in batches, with a
+     * cancellable progress dialog and a summary of the rows that were rejected.
+     */
+    private void importStudents() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path csvFile = chooser.getSelectedFile().toPath();
+        ProgressMonitor monitor = new ProgressMonitor(this, "Importing students from " + csvFile.getFileName(), "Counting rows...", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+
+        mainFrame.getTaskRunner().runUpdate(this, "Importing students...", () -> {
+            int totalRows;
+            try (Stream<String> lines = Files.lines(csvFile, StandardCharsets.UTF_8)) {
+                totalRows = (int) Math.max(1, lines.count());
+            }
+            return studentDAO.importStudents(csvFile, DatabaseConfig.getImportBatchSize(), (processed, imported, failed) -> {
+                SwingUtilities.invokeLater(() -> {
+                    monitor.setMaximum(totalRows);
+                    monitor.setProgress(processed);
+                    monitor.setNote(imported + " imported, " + failed + " failed");
+                });
+                return !monitor.isCanceled();
+            });
+        }, result -> {
+            monitor.close();
+            showImportSummary(result);
+        }, e -> {
+            monitor.close();
+            JOptionPane.showMessageDialog(this, "Import failed: " + e.getMessage(), "Import Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private void showImportSummary(StudentImportResult result) {
+        List<StudentImportResult.RowFailure> failures = result.getFailures();
+        StringBuilder message = new StringBuilder("Imported " + result.getImportedCount() + " students.");
+        if (result.isStopped()) {
+            message.append("\nImport cancelled; rows after the last completed batch were not imported.");
+        }
+        if (!failures.isEmpty()) {
+            message.append("\n\n").append(failures.size()).append(" rows were skipped:");
+            for (int i = 0; i < Math.min(MAX_FAILURES_SHOWN, failures.size()); i++) {
+                message.append("\n").append(failures.get(i));
+            }
+            if (failures.size() > MAX_FAILURES_SHOWN) {
+                message.append("\n...and ").append(failures.size() - MAX_FAILURES_SHOWN).append(" more.");
+            }
+        }
+        JOptionPane.showMessageDialog(this, message.toString(), "Import Complete",
+                failures.isEmpty() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
+
     private void resetFields() {
         resetFields(true);
     }
@@ -208,101 +294,46 @@ class StudentPanel extends JPanel {
         if (makeIdEditable) idField.requestFocus();
     }
 
+    // Only for the user's own typing; fields filled from a search already hold the stored city and state
+    private void zipEdited() {
+        if (!zipField.isFocusOwner()) {
+            return;
+        }
+        String zipCode = zipField.getText().trim();
+        if (zipCode.matches("\\d{5}(-\\d{4})?")) {
+            lookupZipCode(zipCode);
+        } else if (pendingZipLookup != null) {
+            pendingZipLookup.cancel(false); // Still typing; the old answer no longer applies
+            pendingZipLookup = null;
+        }
+    }
+
     /**
-     * Looks up city and state from ZIP code using external API.
-     * Includes retry mechanism and error handling.
+     * Looks up city and state for the ZIP code in the background and fills them in when the answer
+     * arrives. Starting another lookup discards the answer to this one.
      * @param zipCode ZIP code to look up
      */
     private void lookupZipCode(String zipCode) {
-        int maxRetries = 3;
-        int retryCount = 0;
-        boolean success = false;
-
-        while (!success && retryCount < maxRetries) {
-            try {
-                URL url = new URL("https://api.zippopotam.us/us/" + zipCode);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                conn.setConnectTimeout(5000); // 5 second timeout
-                
-                int responseCode = conn.getResponseCode();
-                
-                if (responseCode == 200) {
-                    BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    // Parse JSON response
-                    JSONObject jsonObject = new JSONObject(response.toString());
-                    JSONArray places = jsonObject.getJSONArray("places");
-                    
-                    if (places.length() > 0) {
-                        JSONObject place = places.getJSONObject(0);
-                        String city = place.getString("place name");
-                        String state = place.getString("state");
-                        
-                        // Update the form fields
-                        cityField.setText(city);
-                        stateField.setText(state);
-                        success = true;
-                    } else {
-                        JOptionPane.showMessageDialog(this, 
-                            "No location found for zip code: " + zipCode, 
-                            "Location Not Found", 
-                            JOptionPane.WARNING_MESSAGE);
-                        break;
-                    }
-                } else if (responseCode == 404) {
-                    JOptionPane.showMessageDialog(this, 
-                        "Invalid zip code: " + zipCode, 
-                        "Invalid Zip Code", 
-                        JOptionPane.WARNING_MESSAGE);
-                    break;
-                } else {
-                    throw new IOException("HTTP Error: " + responseCode);
-                }
-            } catch (java.net.SocketTimeoutException e) {
-                retryCount++;
-                if (retryCount < maxRetries) {
-                    JOptionPane.showMessageDialog(this, 
-                        "Connection timeout. Retrying... (Attempt " + retryCount + " of " + maxRetries + ")", 
-                        "Connection Timeout", 
-                        JOptionPane.WARNING_MESSAGE);
-                    try {
-                        Thread.sleep(1000); // Wait 1 second before retry
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
-                } else {
-                    JOptionPane.showMessageDialog(this, 
-                        "Failed to connect after " + maxRetries + " attempts. Please check your internet connection.", 
-                        "Connection Failed", 
-                        JOptionPane.ERROR_MESSAGE);
-                }
-            } catch (java.net.UnknownHostException e) {
-                JOptionPane.showMessageDialog(this, 
-                    "Cannot connect to the server. Please check your internet connection.", 
-                    "Connection Error", 
-                    JOptionPane.ERROR_MESSAGE);
-                break;
-            } catch (org.json.JSONException e) {
-                JOptionPane.showMessageDialog(this, 
-                    "Error parsing response from server. Please try again.", 
-                    "Invalid Response", 
-                    JOptionPane.ERROR_MESSAGE);
-                break;
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, 
-                    "Error looking up zip code: " + e.getMessage(), 
-                    "Error", 
-                    JOptionPane.ERROR_MESSAGE);
-                break;
-            }
+        if (pendingZipLookup != null) {
+            pendingZipLookup.cancel(false);
         }
+        CompletableFuture<ZipLocation> lookup = zipLookup.lookup(zipCode);
+        pendingZipLookup = lookup;
+        lookup.whenComplete((location, error) -> SwingUtilities.invokeLater(() -> {
+            if (lookup != pendingZipLookup) {
+                return; // Superseded or cancelled
+            }
+            pendingZipLookup = null;
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                statusLabel.setText("ZIP lookup failed: " + cause.getMessage());
+            } else if (location != null) {
+                cityField.setText(location.getCity());
+                stateField.setText(location.getState());
+                statusLabel.setText(" ");
+            } else {
+                statusLabel.setText("No location found for zip code: " + zipCode);
+            }
+        }));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.studentinfo;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An academic term: a year and a season. Terms are interned, so each term exists once and can be
+ * compared with ==; they are ordered chronologically, and {@link #getCode()} numbers them
+ * consecutively for range checks. Enrollment stores year and semester as text; {@link #of(String, String)}
+ * converts that text.
+ */
+public final class Term implements Comparable<Term> {
+
+    // In calendar order within a year
+    public enum Season {
+        WINTER("Winter"), SPRING("Spring"), SUMMER("Summer"), FALL("Fall");
+
+        private final String label;
+
+        Season(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+
+        // Semester names as stored in Enrollment, in calendar order
+        public static String[] labels() {
+            Season[] seasons = values();
+            String[] labels = new String[seasons.length];
+            for (int i = 0; i < seasons.length; i++) {
+                labels[i] = seasons[i].label;
+            }
+            return labels;
+        }
+
+        // Case-insensitive; null when the name is not a season
+        public static Season fromLabel(String label) {
+            for (Season season : values()) {
+                if (season.label.equalsIgnoreCase(label)) {
+                    return season;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final Season[] SEASONS = Season.values();
+    private static final ConcurrentHashMap<Integer, Term> INTERNED = new ConcurrentHashMap<>();
+
+    private final int year;
+    private final Season season;
+    private final String yearLabel;
+
+    private Term(int year, Season season) {
+        this.year = year;
+        this.season = season;
+        this.yearLabel = String.valueOf(year);
+    }
+
+    public static Term of(int year, Season season) {
+        if (year < 1000 || year > 9999) {
+            throw new IllegalArgumentException("Invalid year: " + year);
+        }
+        return INTERNED.computeIfAbsent(year * SEASONS.length + season.ordinal(), code -> new Term(year, season));
+    }
+
+    /**
+     * The term for a year and semester as stored in Enrollment, e.g. "2024" and "Fall".
+     * @throws IllegalArgumentException if either is not recognised
+     */
+    public static Term of(String year, String semester) {
+        Season season = Season.fromLabel(semester);
+        if (season == null) {
+            throw new IllegalArgumentException("Unknown semester: " + semester);
+        }
+        try {
+            return of(Integer.parseInt(year.trim()), season);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid year: " + year);
+        }
+    }
+
+    // Like of(String, String), but null instead of an exception for text that is not a term
+    public static Term parse(String year, String semester) {
+        try {
+            return of(year, semester);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public int getYear() { return year; }
+
+    public Season getSeason() { return season; }
+
+    // The year as stored in Enrollment.year
+    public String getYearLabel() { return yearLabel; }
+
+    // The season as stored in Enrollment.semester
+    public String getSemester() { return season.getLabel(); }
+
+    // Consecutive terms have consecutive codes, so a term range is a range of codes
+    public int getCode() {
+        return year * SEASONS.length + season.ordinal();
+    }
+
+    public Term next() {
+        return season.ordinal() + 1 < SEASONS.length ? of(year, SEASONS[season.ordinal() + 1]) : of(year + 1, SEASONS[0]);
+    }
+
+    public boolean isBetween(Term first, Term last) {
+        int code = getCode();
+        return code >= first.getCode() && code <= last.getCode();
+    }
+
+    @Override
+    public int compareTo(Term other) {
+        return Integer.compare(getCode(), other.getCode());
+    }
+
+    /**
+     * Chronological order of year and semester text that need not parse: by year, then season, with
+     * semester names that are not seasons after Fall.
+     */
+    public static int compare(String year1, String semester1, String year2, String semester2) {
+        int byYear = year1.compareTo(year2);
+        if (byYear != 0) {
+            return byYear;
+        }
+        int bySeason = Integer.compare(seasonIndex(semester1), seasonIndex(semester2));
+        return bySeason != 0 ? bySeason : semester1.compareTo(semester2);
+    }
+
+    private static int seasonIndex(String semester) {
+        Season season = Season.fromLabel(semester);
+        return season != null ? season.ordinal() : SEASONS.length;
+    }
+
+    // Interned, so identity is equality
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return getCode();
+    }
+
+    @Override
+    public String toString() {
+        return season.getLabel() + " " + year;
+    }
+}
@@ -0,0 +1,38 @@
+package com.studentinfo;
+
+/**
+ * One course on a student's transcript: the term, the course and its credits, and the grade earned.
+ */
+public class TranscriptEntry {
+    private final int courseId;
+    private final String courseNumber;
+    private final String courseName;
+    private final String year;
+    private final String semester;
+    private final int credits;
+    private final String grade; // Null until grade is assigned
+
+    public TranscriptEntry(int courseId, String courseNumber, String courseName, String year, String semester, int credits, String grade) {
+        this.courseId = courseId;
+        this.courseNumber = courseNumber;
+        this.courseName = courseName;
+        this.year = year;
+        this.semester = semester;
+        this.credits = credits;
+        this.grade = grade;
+    }
+
+    public int getCourseId() { return courseId; }
+
+    public String getCourseNumber() { return courseNumber; }
+
+    public String getCourseName() { return courseName; }
+
+    public String getYear() { return year; }
+
+    public String getSemester() { return semester; }
+
+    public int getCredits() { return credits; }
+
+    public String getGrade() { return grade; }
+}
@@ -0,0 +1,80 @@
+package com.studentinfo;
+
+import javax.swing.*;
+import java.time.Year;
+import java.util.List;
+import com.studentinfo.event.ChangeBatch;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.ChangeEvent;
+import com.studentinfo.event.EnrollmentChanged;
+
+/**
+ * Year picker filled from the terms that have enrollments (MainFrame's term catalog), refilled when
+ * an added enrollment brings a new year. Shows the current year until the terms are loaded.
+ */
+class YearCombo extends JComboBox<String> {
+    private final MainFrame mainFrame;
+
+    YearCombo(MainFrame mainFrame) {
+        super(new String[] {currentYear()});
+        this.mainFrame = mainFrame;
+        update();
+        ChangeBus.get().subscribeCoalesced(EnrollmentChanged.class, SwingUtilities::invokeLater, this::enrollmentsChanged);
+    }
+
+    private static String currentYear() {
+        return String.valueOf(Year.now().getValue());
+    }
+
+    void selectCurrentYear() {
+        setSelectedItem(currentYear());
+    }
+
+    private void enrollmentsChanged(ChangeBatch<EnrollmentChanged> batch) {
+        if (batch.isOverflow()) {
+            update();
+            return;
+        }
+        for (EnrollmentChanged change : batch.getEvents()) {
+            if (change.getType() == ChangeEvent.Type.ADDED) {
+                update();
+                return;
+            }
+        }
+    }
+
+    private void update() {
+        if (mainFrame.isTermCatalogLoaded()) {
+            fill(mainFrame.getTermYears()); // Already in memory
+        } else {
+            mainFrame.getTaskRunner().runQuery(this, "Loading terms...", mainFrame::getTermYears, this::fill);
+        }
+    }
+
+    private void fill(List<String> years) {
+        if (offers(years)) {
+            return; // No new year; leave the selection alone
+        }
+        Object selectedYear = getSelectedItem();
+        removeAllItems();
+        for (String year : years) {
+            addItem(year);
+        }
+        if (selectedYear != null && !years.contains(selectedYear)) {
+            addItem((String) selectedYear); // e.g. a legacy year picked from a table row
+        }
+        setSelectedItem(selectedYear);
+    }
+
+    private boolean offers(List<String> years) {
+        if (getItemCount() != years.size()) {
+            return false;
+        }
+        for (int i = 0; i < years.size(); i++) {
+            if (!years.get(i).equals(getItemAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,454 @@
+package com.studentinfo.analytics;
+
+import com.studentinfo.Term;
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.gpa.GradeScale;
+import com.studentinfo.util.primitive.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only, column-oriented copy of the whole Enrollment table for analytics, about 10 bytes per
+ * enrollment plus indexes instead of an Enrollment object with three Strings. Student IDs are kept as
+ * an int column; courses, terms and grades are dictionary encoded (an int course index, and one byte
+ * each for the term and the grade). Rows are clustered by course, so a course is a contiguous range,
+ * and there are indexes by student and by term. Queries pick the narrowest index for the filter and
+ * scan the candidate rows in parallel chunks.
+ *
+ * A snapshot does not follow later writes; load a new one to see them.
+ */
+public final class EnrollmentSnapshot {
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MAX_CODES = 256;
+
+    public enum GroupBy { COURSE, DEPARTMENT, PROFESSOR, STUDENT }
+
+    /**
+     * Which enrollments a query covers. Every condition left unset matches everything; filters are
+     * immutable, so each method returns a new one.
+     */
+    public static final class Filter {
+        private Integer courseId;
+        private Integer departmentId;
+        private Integer professorId;
+        private Integer studentId;
+        private String year;
+        private String semester;
+        private Term first;
+        private Term last;
+
+        private Filter() {
+        }
+
+        public static Filter all() {
+            return new Filter();
+        }
+
+        public Filter course(int courseId) {
+            Filter filter = copy();
+            filter.courseId = courseId;
+            return filter;
+        }
+
+        public Filter department(int departmentId) {
+            Filter filter = copy();
+            filter.departmentId = departmentId;
+            return filter;
+        }
+
+        public Filter professor(int professorId) {
+            Filter filter = copy();
+            filter.professorId = professorId;
+            return filter;
+        }
+
+        public Filter student(int studentId) {
+            Filter filter = copy();
+            filter.studentId = studentId;
+            return filter;
+        }
+
+        // Either may be null to match any year or semester
+        public Filter term(String year, String semester) {
+            Filter filter = copy();
+            filter.year = year;
+            filter.semester = semester;
+            return filter;
+        }
+
+        // Terms from first through last inclusive; rows whose semester is not a season never match
+        public Filter between(Term first, Term last) {
+            Filter filter = copy();
+            filter.first = first;
+            filter.last = last;
+            return filter;
+        }
+
+        private Filter copy() {
+            Filter filter = new Filter();
+            filter.courseId = courseId;
+            filter.departmentId = departmentId;
+            filter.professorId = professorId;
+            filter.studentId = studentId;
+            filter.year = year;
+            filter.semester = semester;
+            filter.first = first;
+            filter.last = last;
+            return filter;
+        }
+    }
+
+    // Candidate rows for a filter: positions [from, to) of an index, or of the rows themselves when index is null
+    private static final class Candidates {
+        private final int[] index;
+        private final int from;
+        private final int to;
+
+        private Candidates(int[] index, int from, int to) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private interface RowAccumulator<A> {
+        void accept(A accumulator, int row);
+    }
+
+    private final int size;
+    private final int[] studentIds;
+    private final int[] courseIndexes;
+    private final byte[] termCodes;
+    private final byte[] gradeCodes;
+
+    // Course dictionary, in ascending course ID; rows of course i are courseStart[i] to courseStart[i + 1]
+    private final int[] courseIds;
+    private final int[] courseDepartments;
+    private final int[] courseProfessors;
+    private final int[] courseStart;
+
+    // Term and grade dictionaries by code; grade code 0 stands for no grade
+    private final String[] termYears;
+    private final String[] termSemesters;
+    // Null where the semester is not a season
+    private final Term[] terms;
+    private final String[] grades;
+
+    // Row numbers ordered by student ID, and grouped by term code with termStart as for courseStart
+    private final int[] rowsByStudent;
+    private final int[] rowsByTerm;
+    private final int[] termStart;
+
+    private EnrollmentSnapshot(Loader loader) {
+        this.size = loader.size;
+        this.studentIds = Arrays.copyOf(loader.studentIds, size);
+        this.courseIndexes = Arrays.copyOf(loader.courseIndexes, size);
+        this.termCodes = Arrays.copyOf(loader.termCodes, size);
+        this.gradeCodes = Arrays.copyOf(loader.gradeCodes, size);
+        int courseCount = loader.courseCount;
+        this.courseIds = Arrays.copyOf(loader.courseIds, courseCount);
+        this.courseDepartments = Arrays.copyOf(loader.courseDepartments, courseCount);
+        this.courseProfessors = Arrays.copyOf(loader.courseProfessors, courseCount);
+        this.courseStart = Arrays.copyOf(loader.courseStart, courseCount + 1);
+        this.courseStart[courseCount] = size;
+        this.termYears = loader.termYears.toArray(new String[0]);
+        this.termSemesters = loader.termSemesters.toArray(new String[0]);
+        this.terms = new Term[termYears.length];
+        for (int code = 0; code < terms.length; code++) {
+            try {
+                terms[code] = Term.of(termYears[code], termSemesters[code]);
+            } catch (IllegalArgumentException e) {
+                terms[code] = null;
+            }
+        }
+        this.grades = loader.grades.toArray(new String[0]);
+        this.rowsByStudent = indexByStudent();
+        this.termStart = new int[termYears.length + 1];
+        this.rowsByTerm = indexByTerm();
+    }
+
+    /**
+     * Reads the whole Enrollment table in one streamed query. Takes a while on a large table, so call
+     * it off the event dispatch thread.
+     */
+    public static EnrollmentSnapshot load(EnrollmentDAO enrollmentDAO) {
+        Loader loader = new Loader();
+        enrollmentDAO.streamEnrollmentColumns(loader::add);
+        return new EnrollmentSnapshot(loader);
+    }
+
+    // Growable columns filled from the ordered stream; only used while loading
+    private static final class Loader {
+        private int size;
+        private int[] studentIds = new int[1024];
+        private int[] courseIndexes = new int[1024];
+        private byte[] termCodes = new byte[1024];
+        private byte[] gradeCodes = new byte[1024];
+
+        private int courseCount;
+        private int[] courseIds = new int[64];
+        private int[] courseDepartments = new int[64];
+        private int[] courseProfessors = new int[64];
+        private int[] courseStart = new int[65];
+
+        private final List<String> termYears = new ArrayList<>();
+        private final List<String> termSemesters = new ArrayList<>();
+        private final Map<List<String>, Integer> termCodesByTerm = new HashMap<>();
+        private final List<String> grades = new ArrayList<>(Arrays.asList((String) null));
+        private final Map<String, Integer> gradeCodesByGrade = new HashMap<>();
+
+        private void add(int studentId, int courseId, int deptId, int profId, String year, String semester, String grade) {
+            if (courseCount == 0 || courseIds[courseCount - 1] != courseId) {
+                if (courseCount > 0 && courseIds[courseCount - 1] > courseId) {
+                    throw new IllegalStateException("Enrollments must arrive ordered by course ID.");
+                }
+                if (courseCount == courseIds.length) {
+                    courseIds = Arrays.copyOf(courseIds, courseCount * 2);
+                    courseDepartments = Arrays.copyOf(courseDepartments, courseCount * 2);
+                    courseProfessors = Arrays.copyOf(courseProfessors, courseCount * 2);
+                    courseStart = Arrays.copyOf(courseStart, courseCount * 2 + 1);
+                }
+                courseIds[courseCount] = courseId;
+                courseDepartments[courseCount] = deptId;
+                courseProfessors[courseCount] = profId;
+                courseStart[courseCount] = size;
+                courseCount++;
+            }
+            if (size == studentIds.length) {
+                int capacity = size * 2;
+                studentIds = Arrays.copyOf(studentIds, capacity);
+                courseIndexes = Arrays.copyOf(courseIndexes, capacity);
+                termCodes = Arrays.copyOf(termCodes, capacity);
+                gradeCodes = Arrays.copyOf(gradeCodes, capacity);
+            }
+            studentIds[size] = studentId;
+            courseIndexes[size] = courseCount - 1;
+            termCodes[size] = (byte) termCode(year, semester);
+            gradeCodes[size] = (byte) gradeCode(grade);
+            size++;
+        }
+
+        private int termCode(String year, String semester) {
+            return termCodesByTerm.computeIfAbsent(Arrays.asList(year, semester), term -> {
+                if (termYears.size() == MAX_CODES) {
+                    throw new IllegalStateException("More than " + MAX_CODES + " distinct terms.");
+                }
+                termYears.add(year);
+                termSemesters.add(semester);
+                return termYears.size() - 1;
+            });
+        }
+
+        private int gradeCode(String grade) {
+            if (grade == null) {
+                return 0;
+            }
+            return gradeCodesByGrade.computeIfAbsent(grade, key -> {
+                if (grades.size() == MAX_CODES) {
+                    throw new IllegalStateException("More than " + (MAX_CODES - 1) + " distinct grades.");
+                }
+                grades.add(grade);
+                return grades.size() - 1;
+            });
+        }
+    }
+
+    private int[] indexByStudent() {
+        // Sort (student ID, row) pairs packed into longs; rows of one student stay in row order
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = ((long) studentIds[row] << 32) | row;
+        }
+        Arrays.parallelSort(keys);
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+
+    // Counting sort by term code; fills termStart
+    private int[] indexByTerm() {
+        for (int row = 0; row < size; row++) {
+            termStart[(termCodes[row] & 0xFF) + 1]++;
+        }
+        for (int code = 0; code < termYears.length; code++) {
+            termStart[code + 1] += termStart[code];
+        }
+        int[] next = Arrays.copyOf(termStart, termYears.length);
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[next[termCodes[row] & 0xFF]++] = row;
+        }
+        return rows;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Terms with enrollments as {year, semester}, oldest first
+    public List<String[]> getTerms() {
+        List<String[]> terms = new ArrayList<>();
+        for (int code = 0; code < termYears.length; code++) {
+            terms.add(new String[] {termYears[code], termSemesters[code]});
+        }
+        terms.sort((a, b) -> Term.compare(a[0], a[1], b[0], b[1]));
+        return terms;
+    }
+
+    public int count(Filter filter) {
+        return scan(filter, () -> new int[1], (count, row) -> count[0]++, (a, b) -> new int[] {a[0] + b[0]})[0];
+    }
+
+    public GradeDistribution distribution(Filter filter, GradeScale scale) {
+        return toDistribution(scan(filter, () -> new int[grades.length],
+                (counts, row) -> counts[gradeCodes[row] & 0xFF]++, EnrollmentSnapshot::addCounts), scale);
+    }
+
+    // One distribution per course, department, professor or student (0 collects rows without one)
+    public Map<Integer, GradeDistribution> distributionBy(Filter filter, GroupBy groupBy, GradeScale scale) {
+        IntObjectMap<int[]> countsByGroup = scan(filter, IntObjectMap::new, (groups, row) -> {
+            int key = groupKey(groupBy, row);
+            int[] counts = groups.get(key);
+            if (counts == null) {
+                counts = new int[grades.length];
+                groups.put(key, counts);
+            }
+            counts[gradeCodes[row] & 0xFF]++;
+        }, (a, b) -> {
+            b.forEach((key, counts) -> {
+                int[] existing = a.get(key);
+                a.put(key, existing == null ? counts : addCounts(existing, counts));
+            });
+            return a;
+        });
+        Map<Integer, GradeDistribution> distributions = new HashMap<>();
+        countsByGroup.forEach((key, counts) -> distributions.put(key, toDistribution(counts, scale)));
+        return distributions;
+    }
+
+    private int groupKey(GroupBy groupBy, int row) {
+        switch (groupBy) {
+            case COURSE:
+                return courseIds[courseIndexes[row]];
+            case DEPARTMENT:
+                return courseDepartments[courseIndexes[row]];
+            case PROFESSOR:
+                return courseProfessors[courseIndexes[row]];
+            default:
+                return studentIds[row];
+        }
+    }
+
+    private static int[] addCounts(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private GradeDistribution toDistribution(int[] counts, GradeScale scale) {
+        GradeCounts gradeCounts = new GradeCounts();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                gradeCounts.add(grades[code], counts[code]);
+            }
+        }
+        return gradeCounts.toDistribution(scale);
+    }
+
+    /**
+     * Runs the accumulator over the rows matching the filter, one accumulator per chunk of candidates on
+     * the common fork-join pool, and combines the results.
+     */
+    private <A> A scan(Filter filter, Supplier<A> supplier, RowAccumulator<A> accumulator, BinaryOperator<A> combiner) {
+        int courseIndex = -1;
+        if (filter.courseId != null) {
+            courseIndex = Arrays.binarySearch(courseIds, filter.courseId);
+            if (courseIndex < 0) {
+                return supplier.get();
+            }
+        }
+        boolean[] termMatches = new boolean[termYears.length];
+        int matchingTerm = -1;
+        int matchingTermCount = 0;
+        for (int code = 0; code < termYears.length; code++) {
+            termMatches[code] = (filter.year == null || filter.year.equals(termYears[code]))
+                    && (filter.semester == null || filter.semester.equals(termSemesters[code]))
+                    && (filter.first == null || terms[code] != null && terms[code].isBetween(filter.first, filter.last));
+            if (termMatches[code]) {
+                matchingTerm = code;
+                matchingTermCount++;
+            }
+        }
+        if (matchingTermCount == 0) {
+            return supplier.get();
+        }
+        boolean anyTerm = matchingTermCount == termYears.length;
+
+        Candidates candidates;
+        if (filter.studentId != null) {
+            int first = firstRowOfStudent(filter.studentId);
+            int last = first;
+            while (last < size && studentIds[rowsByStudent[last]] == filter.studentId) {
+                last++;
+            }
+            candidates = new Candidates(rowsByStudent, first, last);
+        } else if (courseIndex >= 0) {
+            candidates = new Candidates(null, courseStart[courseIndex], courseStart[courseIndex + 1]);
+        } else if (matchingTermCount == 1) {
+            candidates = new Candidates(rowsByTerm, termStart[matchingTerm], termStart[matchingTerm + 1]);
+        } else {
+            candidates = new Candidates(null, 0, size);
+        }
+
+        int wantedCourse = courseIndex;
+        boolean byDepartment = filter.departmentId != null;
+        int wantedDepartment = byDepartment ? filter.departmentId : 0;
+        boolean byProfessor = filter.professorId != null;
+        int wantedProfessor = byProfessor ? filter.professorId : 0;
+        boolean byStudent = filter.studentId != null;
+        int wantedStudent = byStudent ? filter.studentId : 0;
+        int chunks = (candidates.to - candidates.from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            A result = supplier.get();
+            int from = candidates.from + chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, candidates.to);
+            for (int position = from; position < to; position++) {
+                int row = candidates.index == null ? position : candidates.index[position];
+                int course = courseIndexes[row];
+                if ((wantedCourse < 0 || course == wantedCourse)
+                        && (anyTerm || termMatches[termCodes[row] & 0xFF])
+                        && (!byDepartment || courseDepartments[course] == wantedDepartment)
+                        && (!byProfessor || courseProfessors[course] == wantedProfessor)
+                        && (!byStudent || studentIds[row] == wantedStudent)) {
+                    accumulator.accept(result, row);
+                }
+            }
+            return result;
+        }).reduce(combiner).orElseGet(supplier);
+    }
+
+    // Position in rowsByStudent of the student's first row, or where it would be
+    private int firstRowOfStudent(int studentId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (studentIds[rowsByStudent[middle]] < studentId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,61 @@
+package com.studentinfo.analytics;
+
+import com.studentinfo.gpa.GradeScale;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable grade counters that can be added to and taken from, so a grade change is one decrement and
+ * one increment. Not thread-safe; GradeStatistics guards them with its lock.
+ */
+final class GradeCounts {
+    private final Map<String, Integer> byGrade = new HashMap<>();
+    private int enrolled;
+
+    // Positive delta counts enrollments in, negative takes them back out; a null grade means ungraded
+    void add(String grade, int delta) {
+        enrolled += delta;
+        if (grade != null) {
+            byGrade.merge(grade, delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+
+    void addAll(GradeCounts other) {
+        enrolled += other.enrolled;
+        other.byGrade.forEach((grade, count) -> byGrade.merge(grade, count, Integer::sum));
+    }
+
+    GradeDistribution toDistribution(GradeScale scale) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        int graded = 0;
+        int passed = 0;
+        double points = 0;
+        for (String grade : scale.getGrades()) {
+            int count = byGrade.getOrDefault(grade, 0);
+            counts.put(grade, count);
+            double gradePoints = scale.points(grade);
+            graded += count;
+            points += gradePoints * count;
+            if (gradePoints > 0) {
+                passed += count;
+            }
+        }
+        List<String> others = new ArrayList<>();
+        for (String grade : byGrade.keySet()) {
+            if (!scale.counts(grade)) {
+                others.add(grade);
+            }
+        }
+        Collections.sort(others);
+        for (String grade : others) {
+            counts.put(grade, byGrade.get(grade));
+        }
+        return new GradeDistribution(counts, enrolled, graded,
+                graded == 0 ? null : points / graded, graded == 0 ? null : (double) passed / graded);
+    }
+}
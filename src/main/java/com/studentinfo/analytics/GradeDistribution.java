@@ -0,0 +1,47 @@
+package com.studentinfo.analytics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Grade histogram of a set of enrollments, with the mean grade points and pass rate of the grades on
+ * the scale. Grades off the scale (e.g. "P" or "W") are counted in the histogram only.
+ */
+public final class GradeDistribution {
+    private final Map<String, Integer> counts;
+    private final int enrolled;
+    private final int graded;
+    private final Double meanPoints;
+    private final Double passRate;
+
+    GradeDistribution(Map<String, Integer> counts, int enrolled, int graded, Double meanPoints, Double passRate) {
+        this.counts = Collections.unmodifiableMap(counts);
+        this.enrolled = enrolled;
+        this.graded = graded;
+        this.meanPoints = meanPoints;
+        this.passRate = passRate;
+    }
+
+    // Students per grade: every grade on the scale, best first, then any other grades found
+    public Map<String, Integer> getCounts() { return counts; }
+
+    public int getEnrolled() { return enrolled; }
+
+    // Enrollments with a grade on the scale
+    public int getGraded() { return graded; }
+
+    // Enrollments without a grade yet
+    public int getUngraded() {
+        int withGrade = 0;
+        for (int count : counts.values()) {
+            withGrade += count;
+        }
+        return enrolled - withGrade;
+    }
+
+    // Null when nothing is graded on the scale
+    public Double getMeanPoints() { return meanPoints; }
+
+    // Share of the grades on the scale that carry points; null when nothing is graded on the scale
+    public Double getPassRate() { return passRate; }
+}
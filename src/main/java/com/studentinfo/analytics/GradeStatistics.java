@@ -0,0 +1,256 @@
+package com.studentinfo.analytics;
+
+import com.studentinfo.Course;
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.event.ChangeEvent;
+import com.studentinfo.event.CourseChanged;
+import com.studentinfo.event.DepartmentChanged;
+import com.studentinfo.event.EnrollmentChanged;
+import com.studentinfo.event.ProfessorChanged;
+import com.studentinfo.event.StudentChanged;
+import com.studentinfo.gpa.GradeScale;
+import com.studentinfo.util.primitive.IntObjectMap;
+import com.studentinfo.util.primitive.IntSet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Grade distributions per course and term, per professor and per department. The grades of a course,
+ * professor or department are read with one query on first request and then kept in memory as counters
+ * per section (course, year and semester), which grade changes adjust by one instead of reading the
+ * enrollments again. Professor and department figures add up the sections of their courses.
+ * Feed it every enrollment, course, department, professor and student change through the *Changed methods.
+ */
+public class GradeStatistics {
+
+    // One course, year and semester: each student's grade and the counters over them
+    private static final class Section {
+        // Null for students not graded yet
+        private final IntObjectMap<String> grades = new IntObjectMap<>();
+        private final GradeCounts counts = new GradeCounts();
+
+        private void set(int studentId, String grade) {
+            if (grades.containsKey(studentId)) {
+                counts.add(grades.get(studentId), -1);
+            }
+            grades.put(studentId, grade);
+            counts.add(grade, 1);
+        }
+
+        private void remove(int studentId) {
+            if (grades.containsKey(studentId)) {
+                counts.add(grades.remove(studentId), -1);
+            }
+        }
+    }
+
+    // Every section of one course; the owners follow course changes
+    private static final class CourseGrades {
+        private int deptId;
+        private int profId;
+        // Keyed by (year, semester)
+        private final Map<List<String>, Section> sections = new HashMap<>();
+
+        private CourseGrades(int deptId, int profId) {
+            this.deptId = deptId;
+            this.profId = profId;
+        }
+    }
+
+    private final EnrollmentDAO enrollmentDAO;
+    private final GradeScale scale;
+    private final Object lock = new Object();
+    // Courses whose every enrollment is in memory; guarded by lock, like everything below
+    private final IntObjectMap<CourseGrades> courses = new IntObjectMap<>();
+    // Departments and professors all of whose courses are in courses
+    private final IntSet loadedDepartments = new IntSet();
+    private final IntSet loadedProfessors = new IntSet();
+    // Bumped by every change; grades read while it moved may have missed one and are not kept
+    private long changeVersion;
+
+    public GradeStatistics(EnrollmentDAO enrollmentDAO, GradeScale scale) {
+        this.enrollmentDAO = enrollmentDAO;
+        this.scale = scale;
+    }
+
+    /**
+     * Distribution of one course in one term. The first request for a course reads its grades, so call
+     * it off the event dispatch thread.
+     */
+    public GradeDistribution getCourseDistribution(int courseId, String year, String semester) {
+        return distribution(courseId, null, null, course -> true, year, semester);
+    }
+
+    /**
+     * Distribution over the professor's courses, in one term or (with null year and semester) all terms.
+     */
+    public GradeDistribution getProfessorDistribution(int profId, String year, String semester) {
+        return distribution(null, null, profId, course -> course.profId == profId, year, semester);
+    }
+
+    /**
+     * Distribution over the department's courses, in one term or (with null year and semester) all terms.
+     */
+    public GradeDistribution getDepartmentDistribution(int deptId, String year, String semester) {
+        return distribution(null, deptId, null, course -> course.deptId == deptId, year, semester);
+    }
+
+    // Exactly one of courseId, deptId and profId is set; it names the scope that has to be in memory
+    private GradeDistribution distribution(Integer courseId, Integer deptId, Integer profId,
+                                           Predicate<CourseGrades> inScope, String year, String semester) {
+        long versionBeforeLoad;
+        synchronized (lock) {
+            if (courseId != null ? courses.containsKey(courseId)
+                    : deptId != null ? loadedDepartments.contains(deptId) : loadedProfessors.contains(profId)) {
+                return sum(courseId != null ? List.of(courses.get(courseId)) : courses.values(), inScope, year, semester);
+            }
+            versionBeforeLoad = changeVersion;
+        }
+        IntObjectMap<CourseGrades> loaded = load(courseId, deptId, profId);
+        synchronized (lock) {
+            if (changeVersion != versionBeforeLoad) {
+                return sum(loaded.values(), inScope, year, semester); // Correct as read, but may already be out of date
+            }
+            // Courses already in memory are at least as current as what was just read
+            loaded.forEach(courses::putIfAbsent);
+            if (deptId != null) {
+                loadedDepartments.add(deptId);
+            } else if (profId != null) {
+                loadedProfessors.add(profId);
+            }
+            List<CourseGrades> scope = courseId == null ? courses.values()
+                    : loaded.isEmpty() ? List.of() : List.of(courses.get(courseId));
+            return sum(scope, inScope, year, semester);
+        }
+    }
+
+    private IntObjectMap<CourseGrades> load(Integer courseId, Integer deptId, Integer profId) {
+        IntObjectMap<CourseGrades> loaded = new IntObjectMap<>();
+        enrollmentDAO.streamCourseGrades(courseId, deptId, profId, (rowCourseId, rowDeptId, rowProfId, year, semester, studentId, grade) -> {
+            CourseGrades course = loaded.computeIfAbsent(rowCourseId, id -> new CourseGrades(rowDeptId, rowProfId));
+            if (studentId != 0) {
+                course.sections.computeIfAbsent(Arrays.asList(year, semester), term -> new Section()).set(studentId, grade);
+            }
+        });
+        return loaded;
+    }
+
+    private GradeDistribution sum(List<CourseGrades> from, Predicate<CourseGrades> inScope, String year, String semester) {
+        GradeCounts total = new GradeCounts();
+        for (CourseGrades course : from) {
+            if (!inScope.test(course)) {
+                continue;
+            }
+            if (year != null && semester != null) {
+                Section section = course.sections.get(Arrays.asList(year, semester));
+                if (section != null) {
+                    total.addAll(section.counts);
+                }
+            } else {
+                for (Map.Entry<List<String>, Section> entry : course.sections.entrySet()) {
+                    if ((year == null || year.equals(entry.getKey().get(0)))
+                            && (semester == null || semester.equals(entry.getKey().get(1)))) {
+                        total.addAll(entry.getValue().counts);
+                    }
+                }
+            }
+        }
+        return total.toDistribution(scale);
+    }
+
+    public void enrollmentChanged(EnrollmentChanged change) {
+        synchronized (lock) {
+            changeVersion++;
+            CourseGrades course = courses.get(change.getCourseId());
+            if (course == null) {
+                return; // Not in memory; read in full on the next request
+            }
+            course.sections.computeIfAbsent(Arrays.asList(change.getYear(), change.getSemester()), term -> new Section())
+                    .set(change.getStudentId(), change.getGrade());
+        }
+    }
+
+    public void courseChanged(CourseChanged change) {
+        synchronized (lock) {
+            changeVersion++;
+            if (change.getType() == ChangeEvent.Type.DELETED) {
+                courses.remove(change.getId()); // Its enrollments went with it
+                return;
+            }
+            Course entity = change.getEntity();
+            CourseGrades course = courses.get(change.getId());
+            if (change.getType() == ChangeEvent.Type.ADDED) {
+                courses.put(change.getId(), new CourseGrades(entity.getDepartmentId(), entity.getProfessorId()));
+            } else if (course != null) {
+                course.deptId = entity.getDepartmentId();
+                course.profId = entity.getProfessorId();
+            } else {
+                // A course not in memory moved in; its new owners are missing its grades
+                loadedDepartments.remove(entity.getDepartmentId());
+                loadedProfessors.remove(entity.getProfessorId());
+            }
+        }
+    }
+
+    // ON DELETE SET NULL leaves the department's courses without one (read back as 0)
+    public void departmentChanged(DepartmentChanged change) {
+        if (change.getType() != ChangeEvent.Type.DELETED) {
+            return;
+        }
+        synchronized (lock) {
+            changeVersion++;
+            for (CourseGrades course : courses.values()) {
+                if (course.deptId == change.getId()) {
+                    course.deptId = 0;
+                }
+            }
+            loadedDepartments.remove(change.getId());
+            loadedDepartments.remove(0);
+        }
+    }
+
+    // ON DELETE SET NULL leaves the professor's courses without one (read back as 0)
+    public void professorChanged(ProfessorChanged change) {
+        if (change.getType() != ChangeEvent.Type.DELETED) {
+            return;
+        }
+        synchronized (lock) {
+            changeVersion++;
+            for (CourseGrades course : courses.values()) {
+                if (course.profId == change.getId()) {
+                    course.profId = 0;
+                }
+            }
+            loadedProfessors.remove(change.getId());
+            loadedProfessors.remove(0);
+        }
+    }
+
+    // Deleting a student deletes their enrollments
+    public void studentChanged(StudentChanged change) {
+        if (change.getType() != ChangeEvent.Type.DELETED) {
+            return;
+        }
+        synchronized (lock) {
+            changeVersion++;
+            for (CourseGrades course : courses.values()) {
+                for (Section section : course.sections.values()) {
+                    section.remove(change.getId());
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            changeVersion++;
+            courses.clear();
+            loadedDepartments.clear();
+            loadedProfessors.clear();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.studentinfo.batch;
+
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.util.CsvUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes enrollments to a CSV file in constant memory, streaming rows from the database straight to a
+ * file channel. Targets ending in ".gz" are gzip compressed. The file is written under a temporary
+ * name and only moved into place once the export completes, so a failed run never leaves a partial extract.
+ *
+ * Usage: EnrollmentExport &lt;file&gt; [--year YYYY] [--semester NAME] [--department ID]
+ */
+public class EnrollmentExport {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EnrollmentDAO enrollmentDAO;
+
+    public EnrollmentExport() {
+        this(new EnrollmentDAO());
+    }
+
+    public EnrollmentExport(EnrollmentDAO enrollmentDAO) {
+        this.enrollmentDAO = enrollmentDAO;
+    }
+
+    /**
+     * Exports the enrollments matching the filters (null means no filter) and returns the row count.
+     */
+    public long export(Path target, String year, String semester, Integer departmentId) throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        Path partial = absoluteTarget.resolveSibling(absoluteTarget.getFileName() + ".part");
+        boolean gzip = absoluteTarget.getFileName().toString().toLowerCase().endsWith(".gz");
+        long rowCount;
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer writer = openWriter(Channels.newOutputStream(channel), gzip)) {
+            writeRow(writer, EnrollmentDAO.EXPORT_COLUMNS);
+            rowCount = enrollmentDAO.streamEnrollmentExport(year, semester, departmentId, columns -> writeRow(writer, columns));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, absoluteTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rowCount;
+    }
+
+    private static Writer openWriter(OutputStream out, boolean gzip) throws IOException {
+        OutputStream stream = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static void writeRow(Writer writer, String[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(CsvUtil.escape(columns[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args.length % 2 == 0) {
+            System.err.println("Usage: EnrollmentExport <file> [--year YYYY] [--semester NAME] [--department ID]");
+            System.exit(2);
+        }
+        String year = null;
+        String semester = null;
+        Integer departmentId = null;
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--year":
+                        year = args[i + 1];
+                        break;
+                    case "--semester":
+                        semester = args[i + 1];
+                        break;
+                    case "--department":
+                        departmentId = Integer.parseInt(args[i + 1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            long start = System.nanoTime();
+            long rows = new EnrollmentExport().export(Paths.get(args[0]), year, semester, departmentId);
+            System.out.printf("Exported %d enrollments to %s in %d ms%n", rows, args[0], (System.nanoTime() - start) / 1_000_000);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Export failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
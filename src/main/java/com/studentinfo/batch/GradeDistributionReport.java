@@ -0,0 +1,136 @@
+package com.studentinfo.batch;
+
+import com.studentinfo.analytics.EnrollmentSnapshot;
+import com.studentinfo.analytics.GradeDistribution;
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.gpa.GradeScale;
+import com.studentinfo.util.CsvUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes grade distributions per department, professor and course for every term to one CSV file.
+ * The Enrollment table is loaded once into an EnrollmentSnapshot and every figure is computed from
+ * memory, so the whole report costs one streamed query however many groups and terms it covers.
+ *
+ * Usage: GradeDistributionReport &lt;file&gt; [--year YYYY] [--semester NAME]
+ */
+public class GradeDistributionReport {
+    private static final EnrollmentSnapshot.GroupBy[] GROUPINGS = {
+        EnrollmentSnapshot.GroupBy.DEPARTMENT, EnrollmentSnapshot.GroupBy.PROFESSOR, EnrollmentSnapshot.GroupBy.COURSE
+    };
+
+    private final EnrollmentSnapshot snapshot;
+    private final GradeScale scale;
+
+    public GradeDistributionReport(EnrollmentSnapshot snapshot, GradeScale scale) {
+        this.snapshot = snapshot;
+        this.scale = scale;
+    }
+
+    /**
+     * Writes the report for the matching terms (null means all) and returns the number of rows written.
+     */
+    public long write(Path target, String year, String semester) throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        Path partial = absoluteTarget.resolveSibling(absoluteTarget.getFileName() + ".part");
+        long rowCount = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            List<String> header = new ArrayList<>(List.of("year", "semester", "group", "id", "enrolled", "graded",
+                    "ungraded", "mean_points", "pass_rate"));
+            header.addAll(scale.getGrades());
+            writeRow(writer, header);
+            for (String[] term : snapshot.getTerms()) {
+                if ((year != null && !year.equals(term[0])) || (semester != null && !semester.equals(term[1]))) {
+                    continue;
+                }
+                EnrollmentSnapshot.Filter filter = EnrollmentSnapshot.Filter.all().term(term[0], term[1]);
+                for (EnrollmentSnapshot.GroupBy groupBy : GROUPINGS) {
+                    Map<Integer, GradeDistribution> byGroup = new TreeMap<>(snapshot.distributionBy(filter, groupBy, scale));
+                    for (Map.Entry<Integer, GradeDistribution> entry : byGroup.entrySet()) {
+                        writeRow(writer, toRow(term, groupBy, entry.getKey(), entry.getValue()));
+                        rowCount++;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, absoluteTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rowCount;
+    }
+
+    private List<String> toRow(String[] term, EnrollmentSnapshot.GroupBy groupBy, int id, GradeDistribution distribution) {
+        List<String> row = new ArrayList<>();
+        row.add(term[0]);
+        row.add(term[1]);
+        row.add(groupBy.name().toLowerCase());
+        row.add(String.valueOf(id));
+        row.add(String.valueOf(distribution.getEnrolled()));
+        row.add(String.valueOf(distribution.getGraded()));
+        row.add(String.valueOf(distribution.getUngraded()));
+        row.add(distribution.getMeanPoints() == null ? "" : String.format("%.3f", distribution.getMeanPoints()));
+        row.add(distribution.getPassRate() == null ? "" : String.format("%.4f", distribution.getPassRate()));
+        for (String grade : scale.getGrades()) {
+            row.add(String.valueOf(distribution.getCounts().get(grade)));
+        }
+        return row;
+    }
+
+    private static void writeRow(Writer writer, List<String> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(CsvUtil.escape(columns.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args.length % 2 == 0) {
+            System.err.println("Usage: GradeDistributionReport <file> [--year YYYY] [--semester NAME]");
+            System.exit(2);
+        }
+        String year = null;
+        String semester = null;
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--year":
+                        year = args[i + 1];
+                        break;
+                    case "--semester":
+                        semester = args[i + 1];
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            long start = System.nanoTime();
+            EnrollmentSnapshot snapshot = EnrollmentSnapshot.load(new EnrollmentDAO());
+            long loaded = System.nanoTime();
+            long rows = new GradeDistributionReport(snapshot, GradeScale.fromConfig()).write(Paths.get(args[0]), year, semester);
+            System.out.printf("Loaded %d enrollments in %d ms, wrote %d rows to %s in %d ms%n", snapshot.size(),
+                    (loaded - start) / 1_000_000, rows, args[0], (System.nanoTime() - loaded) / 1_000_000);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Report failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
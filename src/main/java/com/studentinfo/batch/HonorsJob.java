@@ -0,0 +1,378 @@
+package com.studentinfo.batch;
+
+import com.studentinfo.Department;
+import com.studentinfo.Student;
+import com.studentinfo.Term;
+import com.studentinfo.dao.DepartmentDAO;
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.dao.StudentDAO;
+import com.studentinfo.gpa.GradeScale;
+import com.studentinfo.util.CsvUtil;
+import com.studentinfo.util.DatabaseConfig;
+import com.studentinfo.util.primitive.IntIntMap;
+import com.studentinfo.util.primitive.IntObjectMap;
+import com.studentinfo.util.primitive.IntSet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Computes the per-term honors lists (dean's list and president's list) for every department and
+ * writes one CSV report per department. All graded enrollments are read in a single streamed pass of
+ * Enrollment joined to Course; the reading thread packs rows into blocks of ints, and the blocks are
+ * aggregated per student and term in parallel on a ForkJoinPool.
+ *
+ * A student qualifies in a term with at least the minimum graded credits and a term GPA at or above
+ * the threshold. Students have no department of their own, so each honoree is listed under the
+ * department in which they earned the most graded credits that term (the lowest department ID on a tie).
+ *
+ * Usage: HonorsJob &lt;outputDir&gt; [--year YYYY] [--semester NAME] [--threads N]
+ */
+public class HonorsJob {
+    private static final int BLOCK_SIZE = 8192;
+    private static final int NAME_BATCH_SIZE = 1000;
+    private static final String[] REPORT_COLUMNS = {"year", "semester", "student_id", "student_name", "gpa", "credits", "honor"};
+
+    public static final String DEANS_LIST = "Dean's List";
+    public static final String PRESIDENTS_LIST = "President's List";
+
+    /**
+     * One student on an honors list.
+     */
+    public static final class Honoree {
+        private final int studentId;
+        private final String year;
+        private final String semester;
+        private final int deptId;
+        private final double gpa;
+        private final int credits;
+        private final String honor;
+
+        private Honoree(int studentId, String year, String semester, int deptId, double gpa, int credits, String honor) {
+            this.studentId = studentId;
+            this.year = year;
+            this.semester = semester;
+            this.deptId = deptId;
+            this.gpa = gpa;
+            this.credits = credits;
+            this.honor = honor;
+        }
+
+        public int getStudentId() { return studentId; }
+
+        public String getYear() { return year; }
+
+        public String getSemester() { return semester; }
+
+        // 0 when the student's courses that term have no department
+        public int getDeptId() { return deptId; }
+
+        public double getGpa() { return gpa; }
+
+        public int getCredits() { return credits; }
+
+        public String getHonor() { return honor; }
+    }
+
+    // Terms first, then best GPA first
+    private static final Comparator<Honoree> REPORT_ORDER =
+            ((Comparator<Honoree>) (a, b) -> Term.compare(a.year, a.semester, b.year, b.semester))
+                    .thenComparing(Comparator.comparingDouble(Honoree::getGpa).reversed())
+                    .thenComparingInt(Honoree::getStudentId);
+
+    // Rows packed by the reading thread: student, term index, department, credits, grade points in hundredths
+    private static final class Block {
+        private final int[] rows = new int[BLOCK_SIZE * 5];
+        private int size;
+
+        private boolean add(int studentId, int term, int deptId, int credits, int points) {
+            int offset = size * 5;
+            rows[offset] = studentId;
+            rows[offset + 1] = term;
+            rows[offset + 2] = deptId;
+            rows[offset + 3] = credits;
+            rows[offset + 4] = points;
+            return ++size == BLOCK_SIZE;
+        }
+    }
+
+    // Graded credits and grade points of one student in one term
+    private static final class TermTotals {
+        private long points;
+        private int credits;
+        private final IntIntMap creditsByDepartment = new IntIntMap(4);
+
+        private void add(int deptId, int credits, int points) {
+            this.points += (long) points * credits;
+            this.credits += credits;
+            creditsByDepartment.addTo(deptId, credits);
+        }
+
+        private TermTotals combine(TermTotals other) {
+            points += other.points;
+            credits += other.credits;
+            other.creditsByDepartment.forEach(creditsByDepartment::addTo);
+            return this;
+        }
+
+        private int homeDepartment() {
+            int best = 0;
+            int bestCredits = -1;
+            for (int deptId : creditsByDepartment.keys()) {
+                int deptCredits = creditsByDepartment.get(deptId, 0);
+                if (deptCredits > bestCredits || (deptCredits == bestCredits && deptId < best)) {
+                    best = deptId;
+                    bestCredits = deptCredits;
+                }
+            }
+            return best;
+        }
+    }
+
+    // Thrown from the row handler, which cannot throw InterruptedException itself
+    private static final class UncheckedInterruptedException extends RuntimeException {
+        private UncheckedInterruptedException(InterruptedException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized InterruptedException getCause() {
+            return (InterruptedException) super.getCause();
+        }
+    }
+
+    private final EnrollmentDAO enrollmentDAO;
+    private final StudentDAO studentDAO;
+    private final DepartmentDAO departmentDAO;
+    private final GradeScale scale;
+    private final long honorsHundredths;
+    private final long highHonorsHundredths;
+    private final int minCredits;
+
+    public HonorsJob() {
+        this(new EnrollmentDAO(), new StudentDAO(), new DepartmentDAO(), GradeScale.fromConfig(),
+                DatabaseConfig.getHonorsGpa(), DatabaseConfig.getHighHonorsGpa(), DatabaseConfig.getHonorsMinCredits());
+    }
+
+    public HonorsJob(EnrollmentDAO enrollmentDAO, StudentDAO studentDAO, DepartmentDAO departmentDAO, GradeScale scale,
+                     double honorsGpa, double highHonorsGpa, int minCredits) {
+        this.enrollmentDAO = enrollmentDAO;
+        this.studentDAO = studentDAO;
+        this.departmentDAO = departmentDAO;
+        this.scale = scale;
+        // Compared in hundredths so a GPA of exactly the threshold is never lost to rounding
+        this.honorsHundredths = Math.round(honorsGpa * 100);
+        this.highHonorsHundredths = Math.round(highHonorsGpa * 100);
+        this.minCredits = minCredits;
+    }
+
+    /**
+     * Streams the graded enrollments (null year or semester means all) and returns the honorees by
+     * department ID, each list in report order.
+     */
+    public Map<Integer, List<Honoree>> compute(String year, String semester, int threads) throws InterruptedException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive.");
+        }
+        List<String[]> terms = new ArrayList<>();
+        Map<String, Integer> termIndex = new HashMap<>();
+        ConcurrentHashMap<Long, TermTotals> totals = new ConcurrentHashMap<>();
+        List<Future<?>> tasks = new ArrayList<>();
+        // Bounds the blocks waiting for a worker, so a slow pool cannot make the reader buffer the whole table
+        Semaphore inFlight = new Semaphore(threads * 2);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Block[] current = {new Block()};
+            enrollmentDAO.streamGradedEnrollments(year, semester, (studentId, rowYear, rowSemester, deptId, credits, grade) -> {
+                Double points = scale.points(grade);
+                if (points == null || credits <= 0) {
+                    return; // Pass/fail, withdrawals and the like do not count towards the GPA
+                }
+                int term = termIndex.computeIfAbsent(rowYear + '\u0000' + rowSemester, key -> {
+                    terms.add(new String[] {rowYear, rowSemester});
+                    return terms.size() - 1;
+                });
+                if (current[0].add(studentId, term, deptId, credits, (int) Math.round(points * 100))) {
+                    tasks.add(submit(pool, inFlight, current[0], totals));
+                    current[0] = new Block();
+                }
+            });
+            if (current[0].size > 0) {
+                tasks.add(submit(pool, inFlight, current[0], totals));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Honors aggregation failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (UncheckedInterruptedException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<Integer, List<Honoree>> byDepartment = new HashMap<>();
+        for (Map.Entry<Long, TermTotals> entry : totals.entrySet()) {
+            TermTotals termTotals = entry.getValue();
+            if (termTotals.credits < minCredits || termTotals.credits == 0) {
+                continue;
+            }
+            String honor = termTotals.points >= highHonorsHundredths * termTotals.credits ? PRESIDENTS_LIST
+                    : termTotals.points >= honorsHundredths * termTotals.credits ? DEANS_LIST : null;
+            if (honor == null) {
+                continue;
+            }
+            String[] term = terms.get((int) (entry.getKey() & 0xFFFFFFFFL));
+            Honoree honoree = new Honoree((int) (entry.getKey() >>> 32), term[0], term[1], termTotals.homeDepartment(),
+                    termTotals.points / 100.0 / termTotals.credits, termTotals.credits, honor);
+            byDepartment.computeIfAbsent(honoree.deptId, id -> new ArrayList<>()).add(honoree);
+        }
+        byDepartment.values().forEach(list -> list.sort(REPORT_ORDER));
+        return byDepartment;
+    }
+
+    private static Future<?> submit(ForkJoinPool pool, Semaphore inFlight, Block block, ConcurrentHashMap<Long, TermTotals> totals) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            throw new UncheckedInterruptedException(e);
+        }
+        return pool.submit(() -> {
+            try {
+                // Aggregate locally, then fold into the shared map once per student and term in the block
+                Map<Long, TermTotals> local = new HashMap<>();
+                int[] rows = block.rows;
+                for (int offset = 0; offset < block.size * 5; offset += 5) {
+                    long key = ((long) rows[offset] << 32) | rows[offset + 1];
+                    local.computeIfAbsent(key, k -> new TermTotals()).add(rows[offset + 2], rows[offset + 3], rows[offset + 4]);
+                }
+                local.forEach((key, termTotals) -> totals.merge(key, termTotals, TermTotals::combine));
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Writes honors-&lt;deptId&gt;.csv for each department with honorees (honors-none.csv for courses
+     * without a department) and returns the number of reports written.
+     */
+    public int writeReports(Map<Integer, List<Honoree>> byDepartment, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        IntObjectMap<String> names = loadStudentNames(byDepartment);
+        IntObjectMap<String> departmentNames = new IntObjectMap<>();
+        for (Department department : departmentDAO.getAllDepartments()) {
+            departmentNames.put(department.getId(), department.getName());
+        }
+        for (Map.Entry<Integer, List<Honoree>> entry : byDepartment.entrySet()) {
+            int deptId = entry.getKey();
+            Path target = outputDir.toAbsolutePath().resolve(deptId == 0 ? "honors-none.csv" : "honors-" + deptId + ".csv");
+            Path partial = target.resolveSibling(target.getFileName() + ".part");
+            try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+                writer.write("# " + departmentNames.getOrDefault(deptId, deptId == 0 ? "No department" : "Department " + deptId) + "\r\n");
+                writeRow(writer, REPORT_COLUMNS);
+                for (Honoree honoree : entry.getValue()) {
+                    writeRow(writer, new String[] {
+                        honoree.year, honoree.semester, String.valueOf(honoree.studentId),
+                        names.getOrDefault(honoree.studentId, ""), String.format("%.2f", honoree.gpa),
+                        String.valueOf(honoree.credits), honoree.honor
+                    });
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return byDepartment.size();
+    }
+
+    private IntObjectMap<String> loadStudentNames(Map<Integer, List<Honoree>> byDepartment) {
+        IntSet ids = new IntSet();
+        for (List<Honoree> honorees : byDepartment.values()) {
+            for (Honoree honoree : honorees) {
+                ids.add(honoree.studentId);
+            }
+        }
+        IntObjectMap<String> names = new IntObjectMap<>(ids.size());
+        List<Integer> distinct = new ArrayList<>(ids.size());
+        ids.forEach(distinct::add);
+        for (int from = 0; from < distinct.size(); from += NAME_BATCH_SIZE) {
+            for (Student student : studentDAO.getStudentsByIds(distinct.subList(from, Math.min(from + NAME_BATCH_SIZE, distinct.size())))) {
+                names.put(student.getId(), student.getName());
+            }
+        }
+        return names;
+    }
+
+    private static void writeRow(Writer writer, String[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(CsvUtil.escape(columns[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args.length % 2 == 0) {
+            System.err.println("Usage: HonorsJob <outputDir> [--year YYYY] [--semester NAME] [--threads N]");
+            System.exit(2);
+        }
+        String year = null;
+        String semester = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--year":
+                        year = args[i + 1];
+                        break;
+                    case "--semester":
+                        semester = args[i + 1];
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[i + 1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            long start = System.nanoTime();
+            HonorsJob job = new HonorsJob();
+            Map<Integer, List<Honoree>> honorees = job.compute(year, semester, threads);
+            long computed = System.nanoTime();
+            int reports = job.writeReports(honorees, Paths.get(args[0]));
+            int total = honorees.values().stream().mapToInt(List::size).sum();
+            System.out.printf("Found %d honors in %d ms, wrote %d department reports to %s in %d ms%n",
+                    total, (computed - start) / 1_000_000, reports, args[0], (System.nanoTime() - computed) / 1_000_000);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Honors job failed: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Honors job interrupted");
+            System.exit(1);
+        }
+    }
+}
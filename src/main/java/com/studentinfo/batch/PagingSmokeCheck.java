@@ -0,0 +1,66 @@
+package com.studentinfo.batch;
+
+import com.studentinfo.dao.CourseDAO;
+import com.studentinfo.dao.DepartmentDAO;
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.dao.Page;
+import com.studentinfo.dao.PageCursor;
+import com.studentinfo.dao.ProfessorDAO;
+import com.studentinfo.dao.StudentDAO;
+
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs every paged list's count query and its first, next and offset page queries once against the
+ * configured database, so a malformed generated statement shows up before a panel hits it.
+ *
+ * Usage: PagingSmokeCheck
+ */
+public class PagingSmokeCheck {
+    private static final int PAGE_SIZE = 2;
+
+    public static void main(String[] args) {
+        if (args.length != 0) {
+            System.err.println("Usage: PagingSmokeCheck");
+            System.exit(2);
+        }
+        StudentDAO studentDAO = new StudentDAO();
+        CourseDAO courseDAO = new CourseDAO();
+        DepartmentDAO departmentDAO = new DepartmentDAO();
+        ProfessorDAO professorDAO = new ProfessorDAO();
+        EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+        int failures = 0;
+        failures += check("Students", studentDAO::countStudents, studentDAO::getStudentsPage);
+        failures += check("Courses", courseDAO::countCourses, courseDAO::getCoursesPage);
+        failures += check("Departments", departmentDAO::countDepartments, departmentDAO::getDepartmentsPage);
+        failures += check("Professors", professorDAO::countProfessors, professorDAO::getProfessorsPage);
+        // Any ID will do: the statements run the same whether or not it matches rows
+        failures += check("Enrollments by student", () -> enrollmentDAO.countEnrollmentsByStudentId(1),
+                cursor -> enrollmentDAO.getEnrollmentDetailsPageByStudentId(1, cursor));
+        failures += check("Enrollments by course", () -> enrollmentDAO.countEnrollmentsByCourseId(1),
+                cursor -> enrollmentDAO.getEnrollmentDetailsPageByCourseId(1, cursor));
+        if (failures > 0) {
+            System.err.println(failures + " paged list(s) failed.");
+            System.exit(1);
+        }
+    }
+
+    // Returns 1 if any query failed
+    private static int check(String name, IntSupplier count, Function<PageCursor, Page<?>> fetch) {
+        try {
+            int rows = count.getAsInt();
+            Page<?> first = fetch.apply(PageCursor.first(PAGE_SIZE));
+            if (first.hasNext()) {
+                Page<?> next = fetch.apply(first.nextCursor());
+                fetch.apply(next.previousCursor());
+            }
+            fetch.apply(PageCursor.at(1, PAGE_SIZE));
+            System.out.printf("%s: OK (%d rows)%n", name, rows);
+            return 0;
+        } catch (RuntimeException e) {
+            System.err.println(name + ": FAILED: " + e.getMessage());
+            return 1;
+        }
+    }
+}
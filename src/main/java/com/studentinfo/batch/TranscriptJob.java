@@ -0,0 +1,285 @@
+package com.studentinfo.batch;
+
+import com.studentinfo.Student;
+import com.studentinfo.Term;
+import com.studentinfo.TranscriptEntry;
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.dao.StudentDAO;
+import com.studentinfo.gpa.GradeScale;
+import com.studentinfo.gpa.StudentGpa;
+import com.studentinfo.gpa.TermGpa;
+import com.studentinfo.util.primitive.IntObjectMap;
+import com.studentinfo.util.primitive.IntSet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes an official transcript for each student of a cohort to its own text file. Students are
+ * processed in chunks: each chunk is loaded with two set-based queries (students and their enrollments
+ * joined with courses) while the previous chunk is rendered and written in parallel on a ForkJoinPool.
+ * A student whose transcript cannot be written is recorded as a failure and the run carries on.
+ *
+ * Usage: TranscriptJob &lt;outputDir&gt; [--ids FILE] [--threads N] [--batch SIZE]
+ */
+public class TranscriptJob {
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    private static final Comparator<TranscriptEntry> TERM_ORDER =
+            ((Comparator<TranscriptEntry>) (a, b) -> Term.compare(a.getYear(), a.getSemester(), b.getYear(), b.getSemester()))
+                    .thenComparing(TranscriptEntry::getCourseNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * Outcome of a run. Failures hold one "student ID: reason" line per transcript that was not written.
+     */
+    public static final class Result {
+        private final long written;
+        private final List<String> failures;
+        private final long elapsedNanos;
+
+        private Result(long written, List<String> failures, long elapsedNanos) {
+            this.written = written;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getWritten() { return written; }
+
+        public List<String> getFailures() { return failures; }
+
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+        public double getTranscriptsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : written * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+
+    // One loaded chunk, ready to render
+    private static final class Chunk {
+        private final List<Integer> requestedIds;
+        private final List<Student> students;
+        private final IntObjectMap<List<TranscriptEntry>> transcripts;
+
+        private Chunk(List<Integer> requestedIds, List<Student> students, IntObjectMap<List<TranscriptEntry>> transcripts) {
+            this.requestedIds = requestedIds;
+            this.students = students;
+            this.transcripts = transcripts;
+        }
+    }
+
+    private final StudentDAO studentDAO;
+    private final EnrollmentDAO enrollmentDAO;
+    private final GradeScale scale;
+
+    public TranscriptJob() {
+        this(new StudentDAO(), new EnrollmentDAO(), GradeScale.fromConfig());
+    }
+
+    public TranscriptJob(StudentDAO studentDAO, EnrollmentDAO enrollmentDAO, GradeScale scale) {
+        this.studentDAO = studentDAO;
+        this.enrollmentDAO = enrollmentDAO;
+        this.scale = scale;
+    }
+
+    /**
+     * Writes transcript-&lt;id&gt;.txt into the output directory for each of the students, using the given
+     * number of rendering threads and students per chunk. Database failures abort the run.
+     */
+    public Result run(List<Integer> studentIds, Path outputDir, int threads, int batchSize) throws IOException, InterruptedException {
+        if (threads <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Threads and batch size must be positive.");
+        }
+        Files.createDirectories(outputDir);
+        Path directory = outputDir.toAbsolutePath();
+        LongAdder written = new LongAdder();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Future<?> rendering = null;
+            for (int from = 0; from < studentIds.size(); from += batchSize) {
+                // Load the next chunk while the previous one is being written
+                Chunk chunk = load(studentIds.subList(from, Math.min(from + batchSize, studentIds.size())));
+                await(rendering);
+                rendering = pool.submit(() -> render(chunk, directory, written, failures));
+            }
+            await(rendering);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(written.sum(), new ArrayList<>(failures), System.nanoTime() - start);
+    }
+
+    private Chunk load(List<Integer> ids) {
+        List<Integer> requested = new ArrayList<>(ids);
+        return new Chunk(requested, studentDAO.getStudentsByIds(requested), enrollmentDAO.getTranscripts(requested));
+    }
+
+    private static void await(Future<?> rendering) throws InterruptedException {
+        if (rendering == null) {
+            return;
+        }
+        try {
+            rendering.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Transcript rendering failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Runs inside the pool, so the parallel stream uses the pool's threads
+    private void render(Chunk chunk, Path directory, LongAdder written, Queue<String> failures) {
+        if (chunk.students.size() < chunk.requestedIds.size()) {
+            IntSet found = new IntSet(chunk.students.size());
+            for (Student student : chunk.students) {
+                found.add(student.getId());
+            }
+            for (Integer id : chunk.requestedIds) {
+                if (!found.contains(id)) {
+                    failures.add(id + ": no such student");
+                }
+            }
+        }
+        chunk.students.parallelStream().forEach(student -> {
+            try {
+                List<TranscriptEntry> entries = chunk.transcripts.getOrDefault(student.getId(), Collections.emptyList());
+                write(directory.resolve("transcript-" + student.getId() + ".txt"), render(student, entries));
+                written.increment();
+            } catch (IOException | RuntimeException e) {
+                failures.add(student.getId() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private String render(Student student, List<TranscriptEntry> entries) {
+        StudentGpa gpa = StudentGpa.calculate(student.getId(), scale, entries);
+        List<TranscriptEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(TERM_ORDER);
+
+        StringBuilder text = new StringBuilder(256 + sorted.size() * 64);
+        text.append("OFFICIAL TRANSCRIPT\n\n");
+        text.append(String.format("Student:  %s (ID %d)%n", student.getName(), student.getId()));
+        text.append(String.format("Address:  %s, %s, %s %s%n", student.getAddress(), student.getCity(), student.getState(), student.getZip()));
+        String year = null;
+        String semester = null;
+        for (TranscriptEntry entry : sorted) {
+            if (!entry.getYear().equals(year) || !entry.getSemester().equals(semester)) {
+                if (year != null) {
+                    appendTermGpa(text, gpa.getTerm(year, semester));
+                }
+                year = entry.getYear();
+                semester = entry.getSemester();
+                text.append(String.format("%n%s %s%n", semester, year));
+            }
+            text.append(String.format("  %-10s %-40s %3d  %s%n", entry.getCourseNumber(), entry.getCourseName(),
+                    entry.getCredits(), entry.getGrade() == null ? "IP" : entry.getGrade()));
+        }
+        if (year != null) {
+            appendTermGpa(text, gpa.getTerm(year, semester));
+        } else {
+            text.append("\nNo courses on record.\n");
+        }
+        text.append(String.format("%nCumulative GPA: %s  (%d credits)%n",
+                gpa.getCumulativeGpa() == null ? "n/a" : String.format("%.2f", gpa.getCumulativeGpa()), gpa.getCredits()));
+        return text.toString();
+    }
+
+    private static void appendTermGpa(StringBuilder text, TermGpa term) {
+        if (term != null) {
+            text.append(String.format("  Term GPA: %.2f  (%d credits)%n", term.getGpa(), term.getCredits()));
+        }
+    }
+
+    private static void write(Path target, String transcript) throws IOException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            writer.write(transcript);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // One student ID per line; blank lines and lines starting with # are skipped
+    private static List<Integer> readIds(Path file) throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                try {
+                    ids.add(Integer.parseInt(trimmed));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid student ID in " + file + ": " + trimmed);
+                }
+            }
+        }
+        return ids;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args.length % 2 == 0) {
+            System.err.println("Usage: TranscriptJob <outputDir> [--ids FILE] [--threads N] [--batch SIZE]");
+            System.exit(2);
+        }
+        Path idsFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batchSize = 1000;
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--ids":
+                        idsFile = Paths.get(args[i + 1]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "--batch":
+                        batchSize = Integer.parseInt(args[i + 1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            TranscriptJob job = new TranscriptJob();
+            List<Integer> ids = idsFile != null ? readIds(idsFile) : job.studentDAO.getAllStudentIds();
+            Result result = job.run(ids, Paths.get(args[0]), threads, batchSize);
+            System.out.printf("Wrote %d transcripts to %s in %d ms (%.1f transcripts/s), %d failed%n",
+                    result.getWritten(), args[0], result.getElapsedMillis(), result.getTranscriptsPerSecond(), result.getFailures().size());
+            List<String> failures = result.getFailures();
+            for (int i = 0; i < Math.min(failures.size(), MAX_REPORTED_FAILURES); i++) {
+                System.err.println("  " + failures.get(i));
+            }
+            if (failures.size() > MAX_REPORTED_FAILURES) {
+                System.err.printf("  ... and %d more%n", failures.size() - MAX_REPORTED_FAILURES);
+            }
+            if (!failures.isEmpty()) {
+                System.exit(1);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Transcript job failed: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Transcript job interrupted");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.studentinfo.cache;
+
+import com.studentinfo.util.primitive.IntObjectMap;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded, thread-safe cache of entities by int ID with a time-to-live, meant to sit in front of a DAO.
+ * Entries live in a primitive int map and are chained in write order, so a cached entity costs one
+ * small node and no boxed key. Reads and writes take a short lock. When full, the entry written
+ * longest ago is evicted.
+ * Callers keep it write-through by calling {@link #put} after a successful insert or update and
+ * {@link #invalidate} after a delete. A value loaded while a write was happening is not stored, so a
+ * slow read can never overwrite a newer write with stale data.
+ * Cached objects are shared, so callers must not modify them.
+ */
+public class EntityCache<V> {
+
+    // Doubly linked in write order, oldest first; all fields guarded by lock
+    private static final class Node<V> {
+        private final int key;
+        private V value;
+        private long expiresAt;
+        private Node<V> older;
+        private Node<V> newer;
+
+        private Node(int key) {
+            this.key = key;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Object lock = new Object();
+    // Guarded by lock, like the write order list
+    private final IntObjectMap<Node<V>> entries = new IntObjectMap<>();
+    private Node<V> oldest;
+    private Node<V> newest;
+    private long writeVersion;
+    private volatile boolean enabled;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EntityCache(String name, int maxSize, long ttlSeconds, boolean enabled) {
+        if (maxSize <= 0 || ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive.");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the cached value, or loads it with the loader and caches it. Null results are not cached.
+     */
+    public V get(int key, IntFunction<V> loader) {
+        if (!enabled) {
+            return loader.apply(key);
+        }
+        long versionBeforeLoad;
+        synchronized (lock) {
+            V cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+            versionBeforeLoad = writeVersion;
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (lock) {
+                if (writeVersion == versionBeforeLoad) {
+                    store(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    // Counts a hit when found; a miss is only counted by get, which goes on to load
+    public V getIfPresent(int key) {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (lock) {
+            return lookup(key);
+        }
+    }
+
+    private V lookup(int key) {
+        Node<V> node = entries.get(key);
+        if (node == null || node.expiresAt - System.nanoTime() <= 0) {
+            return null;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    public void put(int key, V value) {
+        synchronized (lock) {
+            writeVersion++;
+            if (enabled) {
+                store(key, value);
+            }
+        }
+    }
+
+    public void invalidate(int key) {
+        synchronized (lock) {
+            writeVersion++;
+            Node<V> node = entries.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            writeVersion++;
+            entries.clear();
+            oldest = null;
+            newest = null;
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void store(int key, V value) {
+        Node<V> node = entries.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            entries.put(key, node);
+        } else {
+            unlink(node);
+        }
+        node.value = value;
+        node.expiresAt = System.nanoTime() + ttlNanos;
+        // Append as the newest
+        node.older = newest;
+        if (newest != null) {
+            newest.newer = node;
+        } else {
+            oldest = node;
+        }
+        newest = node;
+        while (entries.size() > maxSize) {
+            Node<V> evicted = oldest;
+            entries.remove(evicted.key);
+            unlink(evicted);
+            evictions.increment();
+        }
+    }
+
+    private void unlink(Node<V> node) {
+        if (node.older != null) {
+            node.older.newer = node.newer;
+        } else {
+            oldest = node.newer;
+        }
+        if (node.newer != null) {
+            node.newer.older = node.older;
+        } else {
+            newest = node.older;
+        }
+        node.older = null;
+        node.newer = null;
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s cache: %d entries, hit rate %.1f%% (%d hits, %d misses, %d evictions)%s",
+                name, size(), getHitRate() * 100, getHitCount(), getMissCount(), getEvictionCount(), enabled ? "" : ", disabled");
+    }
+}
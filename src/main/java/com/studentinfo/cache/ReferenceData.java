@@ -0,0 +1,166 @@
+package com.studentinfo.cache;
+
+import com.studentinfo.Department;
+import com.studentinfo.Professor;
+import com.studentinfo.dao.DepartmentDAO;
+import com.studentinfo.dao.ProfessorDAO;
+import com.studentinfo.util.primitive.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory copy of the departments and the professors in each department, for the combo boxes.
+ * Both tables are read once, on first use, and then kept current by the *Saved and *Deleted
+ * methods, which callers invoke after a successful write. Readers get an immutable snapshot without
+ * locking; each change builds a new snapshot, which is cheap at reference-data sizes.
+ */
+public class ReferenceData {
+
+    // Same order as DepartmentDAO.getAllDepartments and ProfessorDAO.getProfessorsByDepartmentId
+    private static final Comparator<Department> DEPARTMENT_ORDER =
+            Comparator.comparing(Department::getName, String.CASE_INSENSITIVE_ORDER).thenComparingInt(Department::getId);
+    private static final Comparator<Professor> PROFESSOR_ORDER =
+            Comparator.comparing(Professor::getProf_name, String.CASE_INSENSITIVE_ORDER).thenComparingInt(Professor::getProf_id);
+
+    private static final class Snapshot {
+        private final List<Department> departments;
+        private final IntObjectMap<Department> departmentsById;
+        private final IntObjectMap<Professor> professorsById;
+        private final IntObjectMap<List<Professor>> professorsByDepartment;
+
+        private Snapshot(List<Department> departments, List<Professor> professors) {
+            List<Department> sortedDepartments = new ArrayList<>(departments);
+            sortedDepartments.sort(DEPARTMENT_ORDER);
+            IntObjectMap<Department> byId = new IntObjectMap<>(sortedDepartments.size());
+            for (Department department : sortedDepartments) {
+                byId.put(department.getId(), department);
+            }
+            IntObjectMap<Professor> professorById = new IntObjectMap<>(professors.size());
+            IntObjectMap<List<Professor>> byDepartment = new IntObjectMap<>();
+            for (Professor professor : professors) {
+                professorById.put(professor.getProf_id(), professor);
+                byDepartment.computeIfAbsent(professor.getDept_id(), id -> new ArrayList<>()).add(professor);
+            }
+            for (int deptId : byDepartment.keys()) {
+                List<Professor> inDepartment = byDepartment.get(deptId);
+                inDepartment.sort(PROFESSOR_ORDER);
+                byDepartment.put(deptId, Collections.unmodifiableList(inDepartment));
+            }
+            this.departments = Collections.unmodifiableList(sortedDepartments);
+            this.departmentsById = byId;
+            this.professorsById = professorById;
+            this.professorsByDepartment = byDepartment;
+        }
+    }
+
+    private final DepartmentDAO departmentDAO;
+    private final ProfessorDAO professorDAO;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public ReferenceData(DepartmentDAO departmentDAO, ProfessorDAO professorDAO) {
+        this.departmentDAO = departmentDAO;
+        this.professorDAO = professorDAO;
+    }
+
+    // Loads both tables on the first call, so call it off the event dispatch thread
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (writeLock) {
+                current = snapshot;
+                if (current == null) {
+                    current = new Snapshot(departmentDAO.getAllDepartments(), professorDAO.getAllProfessors());
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    // Drops everything; the next read loads both tables again
+    public void reload() {
+        synchronized (writeLock) {
+            snapshot = null;
+        }
+    }
+
+    public List<Department> getDepartments() {
+        return current().departments;
+    }
+
+    public Department getDepartment(int deptId) {
+        return current().departmentsById.get(deptId);
+    }
+
+    public Professor getProfessor(int profId) {
+        return current().professorsById.get(profId);
+    }
+
+    public List<Professor> getProfessorsByDepartment(int deptId) {
+        return current().professorsByDepartment.getOrDefault(deptId, Collections.emptyList());
+    }
+
+    public void departmentSaved(Department department) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // Not loaded yet; the first read will see the change
+            }
+            List<Department> departments = new ArrayList<>(current.departments);
+            departments.removeIf(existing -> existing.getId() == department.getId());
+            departments.add(department);
+            snapshot = new Snapshot(departments, current.professorsById.values());
+        }
+    }
+
+    public void departmentDeleted(int deptId) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // Not loaded yet; the first read will see the change
+            }
+            List<Department> departments = new ArrayList<>(current.departments);
+            departments.removeIf(existing -> existing.getId() == deptId);
+            // ON DELETE SET NULL leaves the department's professors without one (read back as 0)
+            List<Professor> professors = new ArrayList<>();
+            for (Professor professor : current.professorsById.values()) {
+                professors.add(professor.getDept_id() != deptId ? professor
+                        : new Professor(professor.getProf_id(), professor.getProf_name(), professor.getEmail(), professor.getPhone(), 0));
+            }
+            snapshot = new Snapshot(departments, professors);
+        }
+    }
+
+    public void professorSaved(Professor professor) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // Not loaded yet; the first read will see the change
+            }
+            List<Professor> professors = current.professorsById.values();
+            professors.removeIf(existing -> existing.getProf_id() == professor.getProf_id());
+            professors.add(professor);
+            snapshot = new Snapshot(current.departments, professors);
+        }
+    }
+
+    public void professorDeleted(int profId) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // Not loaded yet; the first read will see the change
+            }
+            List<Professor> professors = current.professorsById.values();
+            professors.removeIf(existing -> existing.getProf_id() == profId);
+            snapshot = new Snapshot(current.departments, professors);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.studentinfo.cache;
+
+import com.studentinfo.Term;
+import com.studentinfo.dao.EnrollmentDAO;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The terms that have enrollments, for the year combo boxes. The Enrollment table is read once, on
+ * first use, and then kept current by {@link #termUsed}, which callers invoke after an enrollment is
+ * added. Like ReferenceData, readers get an immutable snapshot without locking.
+ */
+public class TermCatalog {
+
+    private final EnrollmentDAO enrollmentDAO;
+    private final Object writeLock = new Object();
+    private volatile List<Term> terms;
+
+    public TermCatalog(EnrollmentDAO enrollmentDAO) {
+        this.enrollmentDAO = enrollmentDAO;
+    }
+
+    // Reads the Enrollment table on the first call, so call it off the event dispatch thread
+    public List<Term> getTerms() {
+        List<Term> current = terms;
+        if (current == null) {
+            synchronized (writeLock) {
+                current = terms;
+                if (current == null) {
+                    current = Collections.unmodifiableList(enrollmentDAO.getTerms());
+                    terms = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public boolean isLoaded() {
+        return terms != null;
+    }
+
+    // Drops the terms; the next read loads them again
+    public void reload() {
+        synchronized (writeLock) {
+            terms = null;
+        }
+    }
+
+    /**
+     * Years from the first recorded term through next year, so enrollments can be made ahead. With
+     * no enrollments yet, this year and next.
+     */
+    public List<String> getYears() {
+        List<Term> current = getTerms();
+        int thisYear = Year.now().getValue();
+        int first = current.isEmpty() ? thisYear : Math.min(current.get(0).getYear(), thisYear);
+        int last = Math.max(current.isEmpty() ? thisYear : current.get(current.size() - 1).getYear(), thisYear + 1);
+        List<String> years = new ArrayList<>(last - first + 1);
+        for (int year = first; year <= last; year++) {
+            years.add(String.valueOf(year));
+        }
+        return years;
+    }
+
+    public void termUsed(Term term) {
+        synchronized (writeLock) {
+            List<Term> current = terms;
+            if (current == null) {
+                return; // Not loaded yet; the first read will see the term
+            }
+            int index = Collections.binarySearch(current, term);
+            if (index >= 0) {
+                return;
+            }
+            List<Term> updated = new ArrayList<>(current);
+            updated.add(-index - 1, term);
+            terms = Collections.unmodifiableList(updated);
+        }
+    }
+}
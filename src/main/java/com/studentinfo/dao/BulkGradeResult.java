@@ -0,0 +1,29 @@
+package com.studentinfo.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link EnrollmentDAO#updateGrades}: which students were graded and which had no
+ * enrollment in the section.
+ */
+public class BulkGradeResult {
+    private final List<Integer> updatedStudentIds = new ArrayList<>();
+    private final List<Integer> unmatchedStudentIds = new ArrayList<>();
+
+    void addUpdated(int studentId) {
+        updatedStudentIds.add(studentId);
+    }
+
+    void addUnmatched(int studentId) {
+        unmatchedStudentIds.add(studentId);
+    }
+
+    public List<Integer> getUpdatedStudentIds() { return Collections.unmodifiableList(updatedStudentIds); }
+
+    // Students in the submitted roster with no enrollment for the course, year and semester
+    public List<Integer> getUnmatchedStudentIds() { return Collections.unmodifiableList(unmatchedStudentIds); }
+
+    public int getUpdatedCount() { return updatedStudentIds.size(); }
+}
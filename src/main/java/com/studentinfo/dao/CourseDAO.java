@@ -1,13 +1,27 @@
 package com.studentinfo.dao;
 
 import com.studentinfo.Course;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.CourseChanged;
+import com.studentinfo.util.DaoExecutor;
 import com.studentinfo.util.DatabaseConnector;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class CourseDAO {
+    private static final KeysetQuery<Course> COURSE_PAGES = new KeysetQuery<>(
+            "Course", "course_number", "course_id",
+            rs -> new Course(
+                    rs.getInt("course_id"),
+                    rs.getString("course_number"),
+                    rs.getString("course_name"),
+                    rs.getInt("credits"),
+                    rs.getInt("dept_id"),
+                    rs.getInt("prof_id")),
+            Course::getCourseNumber, Course::getId);
 
     public boolean addCourse(Course course) {
         String sql = "INSERT INTO Course (course_number, course_name, credits, dept_id, prof_id) VALUES (?, ?, ?, ?, ?)";
@@ -28,12 +42,14 @@ public class CourseDAO {
                         course.setId(generatedKeys.getInt(1)); // Set the auto-generated course_id
                     }
                 }
-                return true;
+            } else {
+                return false;
             }
-            return false;
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        ChangeBus.get().publish(CourseChanged.added(course));
+        return true;
     }
 
     public Course getCourseById(int courseId) {
@@ -88,8 +104,8 @@ public class CourseDAO {
         List<Course> courses = new ArrayList<>();
         String sql = "SELECT * FROM Course ORDER BY course_number"; // Or course_name
         try (Connection conn = DatabaseConnector.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
                 courses.add(new Course(
@@ -107,6 +123,15 @@ public class CourseDAO {
         return courses;
     }
 
+    // Same order as getAllCourses, one page at a time
+    public Page<Course> getCoursesPage(PageCursor cursor) {
+        return COURSE_PAGES.fetch(cursor);
+    }
+
+    public int countCourses() {
+        return COURSE_PAGES.count();
+    }
+
     public boolean updateCourse(Course course) {
         String sql = "UPDATE Course SET course_number = ?, course_name = ?, credits = ?, dept_id = ?, prof_id = ? WHERE course_id = ?";
         try (Connection conn = DatabaseConnector.getConnection();
@@ -119,11 +144,14 @@ public class CourseDAO {
             stmt.setInt(5, course.getProfessorId()); // Changed from getInstructorId()
             stmt.setInt(6, course.getId());
 
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        ChangeBus.get().publish(CourseChanged.updated(course));
+        return true;
     }
 
     public boolean deleteCourse(int courseId) {
@@ -132,10 +160,26 @@ public class CourseDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, courseId);
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        ChangeBus.get().publish(CourseChanged.deleted(courseId));
+        return true;
+    }
+
+    // Asynchronous variants run on DaoExecutor
+    public CompletableFuture<Course> getCourseByIdAsync(int courseId) {
+        return DaoExecutor.supplyAsync(() -> getCourseById(courseId));
+    }
+
+    public CompletableFuture<Course> getCourseByCourseNumberAsync(String courseNumber) {
+        return DaoExecutor.supplyAsync(() -> getCourseByCourseNumber(courseNumber));
+    }
+
+    public CompletableFuture<List<Course>> getAllCoursesAsync() {
+        return DaoExecutor.supplyAsync(() -> getAllCourses());
     }
-} 
\ No newline at end of file
+}
@@ -1,13 +1,25 @@
 package com.studentinfo.dao;
 
 import com.studentinfo.Department;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.DepartmentChanged;
+import com.studentinfo.util.DaoExecutor;
 import com.studentinfo.util.DatabaseConnector;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class DepartmentDAO {
+    private static final KeysetQuery<Department> DEPARTMENT_PAGES = new KeysetQuery<>(
+            "dept_id, dept_name, location, phone", "Department", null, "dept_name", "dept_id",
+            rs -> new Department(
+                    rs.getInt("dept_id"),
+                    rs.getString("dept_name"),
+                    rs.getString("location"),
+                    rs.getString("phone")),
+            Department::getName, Department::getId);
 
     public boolean addDepartment(Department department) {
         String sql = "INSERT INTO Department (dept_name, location, phone) VALUES (?, ?, ?)";
@@ -17,13 +29,13 @@ public class DepartmentDAO {
             pstmt.setString(2, department.getLocation());
             pstmt.setString(3, department.getPhone());
             int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        department.setId(generatedKeys.getInt(1));
-                    }
+            if (affectedRows == 0) {
+                return false;
+            }
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    department.setId(generatedKeys.getInt(1));
                 }
-                return true;
             }
         } catch (SQLIntegrityConstraintViolationException e) {
             if (e.getMessage().contains("dept_name")) {
@@ -33,7 +45,8 @@ public class DepartmentDAO {
         } catch (SQLException e) {
             throw new IllegalArgumentException("Error adding department: " + e.getMessage());
         }
-        return false;
+        ChangeBus.get().publish(DepartmentChanged.added(department));
+        return true;
     }
 
     public Department getDepartmentById(int deptId) {
@@ -60,8 +73,8 @@ public class DepartmentDAO {
         List<Department> departments = new ArrayList<>();
         String sql = "SELECT dept_id, dept_name, location, phone FROM Department ORDER BY dept_name";
         try (Connection conn = DatabaseConnector.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 departments.add(new Department(
                         rs.getInt("dept_id"),
@@ -76,6 +89,15 @@ public class DepartmentDAO {
         return departments;
     }
 
+    // Same order as getAllDepartments, one page at a time
+    public Page<Department> getDepartmentsPage(PageCursor cursor) {
+        return DEPARTMENT_PAGES.fetch(cursor);
+    }
+
+    public int countDepartments() {
+        return DEPARTMENT_PAGES.count();
+    }
+
     public boolean updateDepartment(Department department) {
         String sql = "UPDATE Department SET dept_name = ?, location = ?, phone = ? WHERE dept_id = ?";
         try (Connection conn = DatabaseConnector.getConnection();
@@ -84,11 +106,15 @@ public class DepartmentDAO {
             pstmt.setString(2, department.getLocation());
             pstmt.setString(3, department.getPhone());
             pstmt.setInt(4, department.getId());
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
-        return false;
+        ChangeBus.get().publish(DepartmentChanged.updated(department));
+        return true;
     }
 
     public boolean deleteDepartment(int deptId) {
@@ -96,10 +122,24 @@ public class DepartmentDAO {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, deptId);
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
-        return false;
+        // Subscribers account for ON DELETE SET NULL on the department's professors and courses
+        ChangeBus.get().publish(DepartmentChanged.deleted(deptId));
+        return true;
+    }
+
+    // Asynchronous variants run on DaoExecutor
+    public CompletableFuture<Department> getDepartmentByIdAsync(int deptId) {
+        return DaoExecutor.supplyAsync(() -> getDepartmentById(deptId));
+    }
+
+    public CompletableFuture<List<Department>> getAllDepartmentsAsync() {
+        return DaoExecutor.supplyAsync(() -> getAllDepartments());
     }
-} 
\ No newline at end of file
+}
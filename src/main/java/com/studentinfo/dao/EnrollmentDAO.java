@@ -1,13 +1,45 @@
 package com.studentinfo.dao;
 
 import com.studentinfo.Enrollment;
+import com.studentinfo.EnrollmentDetail;
+import com.studentinfo.Grade;
+import com.studentinfo.RosterEntry;
+import com.studentinfo.Term;
+import com.studentinfo.TranscriptEntry;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.EnrollmentChanged;
+import com.studentinfo.util.DaoExecutor;
 import com.studentinfo.util.DatabaseConnector;
+import com.studentinfo.util.primitive.IntObjectMap;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
 public class EnrollmentDAO {
+    // MySQL ER_DUP_ENTRY
+    private static final int DUPLICATE_KEY_ERROR = 1062;
+
+    private static final String DETAIL_COLUMNS = "e.*, s.name, c.course_name";
+    private static final String DETAIL_FROM = "Enrollment e "
+            + "JOIN Student s ON s.student_id = e.student_id "
+            + "JOIN Course c ON c.course_id = e.course_id";
+    private static final KeysetQuery<EnrollmentDetail> DETAIL_PAGES_BY_STUDENT = new KeysetQuery<>(
+            DETAIL_COLUMNS, DETAIL_FROM, "e.student_id = ?", "e.enrollment_id", "e.enrollment_id",
+            EnrollmentDAO::mapDetail, detail -> detail.getEnrollment().getEnrollmentId(),
+            detail -> detail.getEnrollment().getEnrollmentId());
+    private static final KeysetQuery<EnrollmentDetail> DETAIL_PAGES_BY_COURSE = new KeysetQuery<>(
+            DETAIL_COLUMNS, DETAIL_FROM, "e.course_id = ?", "s.name", "e.enrollment_id",
+            EnrollmentDAO::mapDetail, EnrollmentDetail::getStudentName,
+            detail -> detail.getEnrollment().getEnrollmentId());
 
     public boolean addEnrollment(Enrollment enrollment) {
         String sql = "INSERT INTO Enrollment (student_id, course_id, year, semester, grade) VALUES (?, ?, ?, ?, ?)";
@@ -25,12 +57,68 @@ public class EnrollmentDAO {
                         enrollment.setEnrollmentId(generatedKeys.getInt(1));
                     }
                 }
-                return true;
+            } else {
+                return false;
             }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
-        return false;
+        ChangeBus.get().publish(EnrollmentChanged.added(enrollment.getStudentId(), enrollment.getCourseId(),
+                enrollment.getYear(), enrollment.getSemester(), enrollment.getGrade()));
+        return true;
+    }
+
+    /**
+     * Enrolls a student in one statement on one connection: the INSERT ... SELECT only produces a row
+     * when both the student and the course exist, and the UNIQUE(student_id, course_id, year, semester)
+     * constraint rejects duplicates. A follow-up lookup is only needed to explain a rejected insert.
+     */
+    public EnrollmentResult enrollStudent(int studentId, int courseId, String year, String semester) {
+        Term term = Term.of(year, semester); // Rejects an unknown term before anything is written
+        String sql = "INSERT INTO Enrollment (student_id, course_id, year, semester, grade) "
+                + "SELECT s.student_id, c.course_id, ?, ?, NULL FROM Student s JOIN Course c ON c.course_id = ? "
+                + "WHERE s.student_id = ?";
+        Enrollment enrollment = null;
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, term.getYearLabel());
+                pstmt.setString(2, term.getSemester());
+                pstmt.setInt(3, courseId);
+                pstmt.setInt(4, studentId);
+                if (pstmt.executeUpdate() > 0) {
+                    enrollment = new Enrollment(0, studentId, courseId, term, null);
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            enrollment.setEnrollmentId(generatedKeys.getInt(1));
+                        }
+                    }
+                }
+            } catch (SQLIntegrityConstraintViolationException e) {
+                if (e.getErrorCode() == DUPLICATE_KEY_ERROR) {
+                    return EnrollmentResult.rejected(EnrollmentResult.Status.DUPLICATE);
+                }
+                throw e;
+            }
+            if (enrollment == null) {
+                return EnrollmentResult.rejected(findMissingReference(conn, studentId, courseId));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        ChangeBus.get().publish(EnrollmentChanged.added(studentId, courseId, term.getYearLabel(), term.getSemester(), null));
+        return EnrollmentResult.created(enrollment);
+    }
+
+    private EnrollmentResult.Status findMissingReference(Connection conn, int studentId, int courseId) throws SQLException {
+        String sql = "SELECT EXISTS(SELECT 1 FROM Student WHERE student_id = ?), EXISTS(SELECT 1 FROM Course WHERE course_id = ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, studentId);
+            pstmt.setInt(2, courseId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1) ? EnrollmentResult.Status.UNKNOWN_COURSE : EnrollmentResult.Status.UNKNOWN_STUDENT;
+            }
+        }
     }
 
     public Enrollment findEnrollment(int studentId, int courseId, String year, String semester) {
@@ -43,14 +131,7 @@ public class EnrollmentDAO {
             pstmt.setString(4, semester);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return new Enrollment(
-                            rs.getInt("enrollment_id"),
-                            rs.getInt("student_id"),
-                            rs.getInt("course_id"),
-                            rs.getString("year"),
-                            rs.getString("semester"),
-                            rs.getString("grade")
-                    );
+                    return mapEnrollment(rs);
                 }
             }
         } catch (SQLException e) {
@@ -67,14 +148,7 @@ public class EnrollmentDAO {
             pstmt.setInt(1, studentId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    enrollments.add(new Enrollment(
-                            rs.getInt("enrollment_id"),
-                            rs.getInt("student_id"),
-                            rs.getInt("course_id"),
-                            rs.getString("year"),
-                            rs.getString("semester"),
-                            rs.getString("grade")
-                    ));
+                    enrollments.add(mapEnrollment(rs));
                 }
             }
         } catch (SQLException e) {
@@ -91,12 +165,188 @@ public class EnrollmentDAO {
             pstmt.setInt(1, courseId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    enrollments.add(new Enrollment(
-                            rs.getInt("enrollment_id"),
+                    enrollments.add(mapEnrollment(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return enrollments;
+    }
+
+    /**
+     * The student's enrollments from the first to the last term, both included. The query narrows by
+     * year; the seasons at either end are checked on the parsed terms, so rows whose semester is not a
+     * season are left out.
+     */
+    public List<Enrollment> getEnrollmentsByStudentIdBetween(int studentId, Term first, Term last) {
+        List<Enrollment> enrollments = new ArrayList<>();
+        String sql = "SELECT * FROM Enrollment WHERE student_id = ? AND year BETWEEN ? AND ?";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, studentId);
+            pstmt.setString(2, first.getYearLabel());
+            pstmt.setString(3, last.getYearLabel());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Enrollment enrollment = mapEnrollment(rs);
+                    if (enrollment.getTerm() != null && enrollment.getTerm().isBetween(first, last)) {
+                        enrollments.add(enrollment);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return enrollments;
+    }
+
+    // Every term with at least one enrollment, oldest first; semesters that are not seasons are skipped
+    public List<Term> getTerms() {
+        // Spellings such as "fall" and "Fall" are the same term
+        Set<Term> terms = new TreeSet<>();
+        String sql = "SELECT DISTINCT year, semester FROM Enrollment";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                try {
+                    terms.add(Term.of(rs.getString(1), rs.getString(2)));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("WARNING: Skipping unrecognised term " + rs.getString(2) + " " + rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * All enrollments of a student with course names resolved in the same query.
+     */
+    public List<EnrollmentDetail> getEnrollmentDetailsByStudentId(int studentId) {
+        return getEnrollmentDetails("e.student_id = ? ORDER BY e.enrollment_id", studentId);
+    }
+
+    /**
+     * All enrollments in a course with student names resolved in the same query.
+     */
+    public List<EnrollmentDetail> getEnrollmentDetailsByCourseId(int courseId) {
+        return getEnrollmentDetails("e.course_id = ? ORDER BY s.name, e.enrollment_id", courseId);
+    }
+
+    private List<EnrollmentDetail> getEnrollmentDetails(String whereClause, int id) {
+        List<EnrollmentDetail> details = new ArrayList<>();
+        String sql = "SELECT " + DETAIL_COLUMNS + " FROM " + DETAIL_FROM + " WHERE " + whereClause;
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    details.add(mapDetail(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return details;
+    }
+
+    private static Enrollment mapEnrollment(ResultSet rs) throws SQLException {
+        return new Enrollment(
+                rs.getInt("enrollment_id"),
+                rs.getInt("student_id"),
+                rs.getInt("course_id"),
+                rs.getString("year"),
+                rs.getString("semester"),
+                rs.getString("grade")
+        );
+    }
+
+    private static EnrollmentDetail mapDetail(ResultSet rs) throws SQLException {
+        Enrollment enrollment = mapEnrollment(rs);
+        return new EnrollmentDetail(enrollment, rs.getString("name"), rs.getString("course_name"));
+    }
+
+    // Paged versions of getEnrollmentDetailsByStudentId / ByCourseId, in the same order
+    public Page<EnrollmentDetail> getEnrollmentDetailsPageByStudentId(int studentId, PageCursor cursor) {
+        return DETAIL_PAGES_BY_STUDENT.fetch(cursor, studentId);
+    }
+
+    public int countEnrollmentsByStudentId(int studentId) {
+        return DETAIL_PAGES_BY_STUDENT.count(studentId);
+    }
+
+    public Page<EnrollmentDetail> getEnrollmentDetailsPageByCourseId(int courseId, PageCursor cursor) {
+        return DETAIL_PAGES_BY_COURSE.fetch(cursor, courseId);
+    }
+
+    public int countEnrollmentsByCourseId(int courseId) {
+        return DETAIL_PAGES_BY_COURSE.count(courseId);
+    }
+
+    /**
+     * Students enrolled in a course for one term, with their grades, in a single joined query.
+     */
+    public List<RosterEntry> getCourseRoster(int courseId, String year, String semester) {
+        List<RosterEntry> roster = new ArrayList<>();
+        String sql = "SELECT s.student_id, s.name, e.grade FROM Enrollment e "
+                + "JOIN Student s ON s.student_id = e.student_id "
+                + "WHERE e.course_id = ? AND e.year = ? AND e.semester = ? ORDER BY s.name, s.student_id";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, courseId);
+            pstmt.setString(2, year);
+            pstmt.setString(3, semester);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    roster.add(new RosterEntry(
                             rs.getInt("student_id"),
+                            rs.getString("name"),
+                            rs.getString("grade")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return roster;
+    }
+
+    /**
+     * Every enrollment of one student with its course, for GPA calculation and transcripts.
+     */
+    public List<TranscriptEntry> getTranscript(int studentId) {
+        return getTranscripts(List.of(studentId)).getOrDefault(studentId, new ArrayList<>());
+    }
+
+    /**
+     * Transcripts for many students with one query, keyed by student ID. Students without
+     * enrollments are left out. Keep the list to a few thousand IDs per call.
+     */
+    public IntObjectMap<List<TranscriptEntry>> getTranscripts(List<Integer> studentIds) {
+        IntObjectMap<List<TranscriptEntry>> transcripts = new IntObjectMap<>(studentIds.size());
+        if (studentIds.isEmpty()) {
+            return transcripts;
+        }
+        String sql = "SELECT e.student_id, e.course_id, c.course_number, c.course_name, e.year, e.semester, e.grade, c.credits "
+                + "FROM Enrollment e JOIN Course c ON c.course_id = e.course_id "
+                + "WHERE e.student_id IN (" + String.join(",", Collections.nCopies(studentIds.size(), "?")) + ")";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < studentIds.size(); i++) {
+                pstmt.setInt(i + 1, studentIds.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transcripts.computeIfAbsent(rs.getInt("student_id"), id -> new ArrayList<>()).add(new TranscriptEntry(
                             rs.getInt("course_id"),
+                            rs.getString("course_number"),
+                            rs.getString("course_name"),
                             rs.getString("year"),
                             rs.getString("semester"),
+                            rs.getInt("credits"),
                             rs.getString("grade")
                     ));
                 }
@@ -104,43 +354,327 @@ public class EnrollmentDAO {
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
-        return enrollments;
+        return transcripts;
     }
 
+    /**
+     * Year and semester only have to match the stored row, so rows with a semester that is not a
+     * season can still be graded. Throws IllegalArgumentException for an unknown grade; a null or
+     * empty grade clears it.
+     */
     public boolean updateGrade(int studentId, int courseId, String year, String semester, String grade) {
+        String label = Grade.labelOf(Grade.fromLabel(grade));
         String sql = "UPDATE Enrollment SET grade = ? WHERE student_id = ? AND course_id = ? AND year = ? AND semester = ?";
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, grade);
+            pstmt.setString(1, label);
             pstmt.setInt(2, studentId);
             pstmt.setInt(3, courseId);
             pstmt.setString(4, year);
             pstmt.setString(5, semester);
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        ChangeBus.get().publish(EnrollmentChanged.gradeChanged(studentId, courseId, year, semester, label));
+        return true;
+    }
+
+    /**
+     * Grades a whole course section in one transaction on one connection. The section's enrollments
+     * are locked and read with a single query, so students without an enrollment are reported instead
+     * of silently skipped, and the remaining rows go to the server as one JDBC batch.
+     * A null or empty grade clears the grade. Nothing is written if any update fails, and nothing is
+     * attempted if any grade is unknown (IllegalArgumentException).
+     */
+    public BulkGradeResult updateGrades(int courseId, String year, String semester, Map<Integer, String> gradesByStudentId) {
+        String selectSql = "SELECT student_id FROM Enrollment WHERE course_id = ? AND year = ? AND semester = ? FOR UPDATE";
+        String updateSql = "UPDATE Enrollment SET grade = ? WHERE student_id = ? AND course_id = ? AND year = ? AND semester = ?";
+        BulkGradeResult result = new BulkGradeResult();
+        if (gradesByStudentId.isEmpty()) {
+            return result;
+        }
+        Map<Integer, String> labels = new HashMap<>();
+        for (Map.Entry<Integer, String> entry : gradesByStudentId.entrySet()) {
+            labels.put(entry.getKey(), Grade.labelOf(Grade.fromLabel(entry.getValue())));
+        }
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Set<Integer> enrolled = new HashSet<>();
+                try (PreparedStatement select = conn.prepareStatement(selectSql)) {
+                    select.setInt(1, courseId);
+                    select.setString(2, year);
+                    select.setString(3, semester);
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            enrolled.add(rs.getInt("student_id"));
+                        }
+                    }
+                }
+
+                try (PreparedStatement update = conn.prepareStatement(updateSql)) {
+                    for (Map.Entry<Integer, String> entry : gradesByStudentId.entrySet()) {
+                        int studentId = entry.getKey();
+                        if (!enrolled.contains(studentId)) {
+                            result.addUnmatched(studentId);
+                            continue;
+                        }
+                        update.setString(1, labels.get(studentId));
+                        update.setInt(2, studentId);
+                        update.setInt(3, courseId);
+                        update.setString(4, year);
+                        update.setString(5, semester);
+                        update.addBatch();
+                        result.addUpdated(studentId);
+                    }
+                    if (result.getUpdatedCount() > 0) {
+                        update.executeBatch();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        for (int studentId : result.getUpdatedStudentIds()) {
+            ChangeBus.get().publish(EnrollmentChanged.gradeChanged(studentId, courseId, year, semester,
+                    labels.get(studentId)));
+        }
+        return result;
+    }
+
+    /**
+     * Receives export rows one at a time. The array is reused for every row, so copy anything kept.
+     */
+    public interface ExportRowHandler {
+        void handle(String[] columns) throws IOException;
+    }
+
+    // Column order of the rows passed to streamEnrollmentExport
+    public static final String[] EXPORT_COLUMNS = {
+        "enrollment_id", "student_id", "student_name", "course_id", "course_number",
+        "course_name", "dept_id", "year", "semester", "grade"
+    };
+
+    /**
+     * Streams enrollments joined to their student and course, without building a list. The statement is
+     * forward-only and read-only with a fetch size of Integer.MIN_VALUE, which makes MySQL Connector/J
+     * stream rows one at a time instead of buffering the whole result on the client.
+     * Any filter left null is not applied. Returns the number of rows handled.
+     * The connection is busy until the stream is done, so the handler must not call back into the DAOs.
+     */
+    public long streamEnrollmentExport(String year, String semester, Integer departmentId, ExportRowHandler handler) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT e.enrollment_id, e.student_id, s.name, e.course_id, c.course_number, c.course_name, c.dept_id, "
+                + "e.year, e.semester, e.grade "
+                + "FROM Enrollment e JOIN Student s ON s.student_id = e.student_id JOIN Course c ON c.course_id = e.course_id "
+                + "WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (year != null) {
+            sql.append(" AND e.year = ?");
+            params.add(year);
+        }
+        if (semester != null) {
+            sql.append(" AND e.semester = ?");
+            params.add(semester);
+        }
+        if (departmentId != null) {
+            sql.append(" AND c.dept_id = ?");
+            params.add(departmentId);
+        }
+        sql.append(" ORDER BY e.enrollment_id");
+
+        String[] columns = new String[EXPORT_COLUMNS.length];
+        long rowCount = 0;
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i] = rs.getString(i + 1);
+                    }
+                    handler.handle(columns);
+                    rowCount++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return rowCount;
+    }
+
+    /**
+     * Receives graded enrollment rows one at a time; a course without a department has dept ID 0.
+     */
+    public interface GradedRowHandler {
+        void handle(int studentId, String year, String semester, int deptId, int credits, String grade);
+    }
+
+    /**
+     * Streams every graded enrollment with its course's credits and department, in no particular order,
+     * the same way as streamEnrollmentExport. Year or semester left null is not filtered on.
+     * Returns the number of rows handled.
+     */
+    public long streamGradedEnrollments(String year, String semester, GradedRowHandler handler) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT e.student_id, e.year, e.semester, c.dept_id, c.credits, e.grade "
+                + "FROM Enrollment e JOIN Course c ON c.course_id = e.course_id "
+                + "WHERE e.grade IS NOT NULL");
+        List<Object> params = new ArrayList<>();
+        if (year != null) {
+            sql.append(" AND e.year = ?");
+            params.add(year);
+        }
+        if (semester != null) {
+            sql.append(" AND e.semester = ?");
+            params.add(semester);
+        }
+
+        long rowCount = 0;
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getInt(5), rs.getString(6));
+                    rowCount++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return rowCount;
+    }
+
+    /**
+     * Receives the grades of a set of courses one enrollment at a time. A course without enrollments is
+     * passed once with student ID 0 and null year, semester and grade; a missing department or professor is 0.
+     */
+    public interface CourseGradeHandler {
+        void handle(int courseId, int deptId, int profId, String year, String semester, int studentId, String grade);
+    }
+
+    /**
+     * Streams every enrollment, graded or not, of the courses matching the filters (null means no
+     * filter), the same way as streamEnrollmentExport.
+     */
+    public void streamCourseGrades(Integer courseId, Integer departmentId, Integer professorId, CourseGradeHandler handler) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT c.course_id, c.dept_id, c.prof_id, e.year, e.semester, e.student_id, e.grade "
+                + "FROM Course c LEFT JOIN Enrollment e ON e.course_id = c.course_id "
+                + "WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (courseId != null) {
+            sql.append(" AND c.course_id = ?");
+            params.add(courseId);
+        }
+        if (departmentId != null) {
+            sql.append(" AND c.dept_id = ?");
+            params.add(departmentId);
+        }
+        if (professorId != null) {
+            sql.append(" AND c.prof_id = ?");
+            params.add(professorId);
+        }
+
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getString(4), rs.getString(5), rs.getInt(6), rs.getString(7));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Receives enrollment rows with their course's department and professor; a missing
+     * department or professor is 0 and an ungraded enrollment has a null grade.
+     */
+    public interface EnrollmentColumnHandler {
+        void handle(int studentId, int courseId, int deptId, int profId, String year, String semester, String grade);
+    }
+
+    /**
+     * Streams every enrollment ordered by course ID, the same way as streamEnrollmentExport, for bulk
+     * loading into memory. Returns the number of rows handled.
+     */
+    public long streamEnrollmentColumns(EnrollmentColumnHandler handler) {
+        String sql = "SELECT e.student_id, e.course_id, c.dept_id, c.prof_id, e.year, e.semester, e.grade "
+                + "FROM Enrollment e JOIN Course c ON c.course_id = e.course_id "
+                + "ORDER BY e.course_id";
+        long rowCount = 0;
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getString(5), rs.getString(6), rs.getString(7));
+                    rowCount++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return rowCount;
     }
 
     public List<Enrollment> getAllEnrollments() {
         List<Enrollment> enrollments = new ArrayList<>();
         String sql = "SELECT * FROM Enrollment";
         try (Connection conn = DatabaseConnector.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                enrollments.add(new Enrollment(
-                        rs.getInt("enrollment_id"),
-                        rs.getInt("student_id"),
-                        rs.getInt("course_id"),
-                        rs.getString("year"),
-                        rs.getString("semester"),
-                        rs.getString("grade")
-                ));
+                enrollments.add(mapEnrollment(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
         return enrollments;
     }
-} 
\ No newline at end of file
+
+    // Asynchronous variants run on DaoExecutor
+    public CompletableFuture<Enrollment> findEnrollmentAsync(int studentId, int courseId, String year, String semester) {
+        return DaoExecutor.supplyAsync(() -> findEnrollment(studentId, courseId, year, semester));
+    }
+
+    public CompletableFuture<List<Enrollment>> getEnrollmentsByStudentIdAsync(int studentId) {
+        return DaoExecutor.supplyAsync(() -> getEnrollmentsByStudentId(studentId));
+    }
+
+    public CompletableFuture<List<Enrollment>> getEnrollmentsByCourseIdAsync(int courseId) {
+        return DaoExecutor.supplyAsync(() -> getEnrollmentsByCourseId(courseId));
+    }
+
+    public CompletableFuture<List<EnrollmentDetail>> getEnrollmentDetailsByStudentIdAsync(int studentId) {
+        return DaoExecutor.supplyAsync(() -> getEnrollmentDetailsByStudentId(studentId));
+    }
+
+    public CompletableFuture<List<EnrollmentDetail>> getEnrollmentDetailsByCourseIdAsync(int courseId) {
+        return DaoExecutor.supplyAsync(() -> getEnrollmentDetailsByCourseId(courseId));
+    }
+
+    public CompletableFuture<List<RosterEntry>> getCourseRosterAsync(int courseId, String year, String semester) {
+        return DaoExecutor.supplyAsync(() -> getCourseRoster(courseId, year, semester));
+    }
+}
@@ -0,0 +1,37 @@
+package com.studentinfo.dao;
+
+import com.studentinfo.Enrollment;
+
+/**
+ * Outcome of {@link EnrollmentDAO#enrollStudent}. Carries the new enrollment when one was created.
+ */
+public class EnrollmentResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        UNKNOWN_STUDENT,
+        UNKNOWN_COURSE
+    }
+
+    private final Status status;
+    private final Enrollment enrollment;
+
+    private EnrollmentResult(Status status, Enrollment enrollment) {
+        this.status = status;
+        this.enrollment = enrollment;
+    }
+
+    static EnrollmentResult created(Enrollment enrollment) {
+        return new EnrollmentResult(Status.CREATED, enrollment);
+    }
+
+    static EnrollmentResult rejected(Status status) {
+        return new EnrollmentResult(status, null);
+    }
+
+    public Status getStatus() { return status; }
+
+    // Null unless the status is CREATED
+    public Enrollment getEnrollment() { return enrollment; }
+}
@@ -0,0 +1,154 @@
+package com.studentinfo.dao;
+
+import com.studentinfo.util.DatabaseConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keyset (seek) pagination ordered by (sortColumn, idColumn). Each page seeks past the last row of the
+ * previous one with a WHERE on the sort key instead of an OFFSET, so with an index on
+ * (sortColumn, idColumn) every page costs the same no matter how deep into the list it is.
+ * The ID breaks ties between rows with the same sort key. An optional fixed filter narrows the rows;
+ * its parameters are passed to each call.
+ */
+final class KeysetQuery<T> {
+
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private final String columns;
+    private final String from;
+    private final String filter;
+    private final String sortColumn;
+    private final String idColumn;
+    private final RowMapper<T> mapper;
+    private final Function<T, Object> sortKey;
+    private final ToIntFunction<T> idKey;
+
+    KeysetQuery(String table, String sortColumn, String idColumn, RowMapper<T> mapper,
+                Function<T, Object> sortKey, ToIntFunction<T> idKey) {
+        this("*", table, null, sortColumn, idColumn, mapper, sortKey, idKey);
+    }
+
+    KeysetQuery(String columns, String from, String filter, String sortColumn, String idColumn,
+                RowMapper<T> mapper, Function<T, Object> sortKey, ToIntFunction<T> idKey) {
+        this.columns = columns;
+        this.from = from;
+        this.filter = filter;
+        this.sortColumn = sortColumn;
+        this.idColumn = idColumn;
+        this.mapper = mapper;
+        this.sortKey = sortKey;
+        this.idKey = idKey;
+    }
+
+    int count(Object... filterParams) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ").append(from);
+        if (filter != null) {
+            sql.append(" WHERE ").append(filter);
+        }
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < filterParams.length; i++) {
+                pstmt.setObject(i + 1, filterParams[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+    }
+
+    Page<T> fetch(PageCursor cursor, Object... filterParams) {
+        PageCursor.Direction direction = cursor.getDirection();
+        boolean backward = direction == PageCursor.Direction.BEFORE;
+        boolean seek = direction == PageCursor.Direction.AFTER || backward;
+        int pageSize = cursor.getPageSize();
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM ").append(from);
+        List<String> conditions = new ArrayList<>(2);
+        if (filter != null) {
+            conditions.add("(" + filter + ")");
+        }
+        if (seek) {
+            // Expanded form of (sort, id) > (?, ?); MySQL uses the index for this but not for the row comparison
+            String op = backward ? " < ?" : " > ?";
+            conditions.add("(" + sortColumn + op + " OR (" + sortColumn + " = ? AND " + idColumn + op + "))");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        String order = backward ? " DESC" : "";
+        sql.append(" ORDER BY ").append(sortColumn).append(order).append(", ").append(idColumn).append(order).append(" LIMIT ?");
+        if (direction == PageCursor.Direction.OFFSET) {
+            sql.append(" OFFSET ?");
+        }
+
+        List<T> rows = new ArrayList<>(pageSize + 1);
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Object param : filterParams) {
+                pstmt.setObject(index++, param);
+            }
+            if (seek) {
+                pstmt.setObject(index++, cursor.getSortKey());
+                pstmt.setObject(index++, cursor.getSortKey());
+                pstmt.setInt(index++, cursor.getId());
+            }
+            // One extra row tells whether there is another page beyond this one
+            pstmt.setInt(index++, pageSize + 1);
+            if (direction == PageCursor.Direction.OFFSET) {
+                pstmt.setInt(index, cursor.getId());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+
+        boolean more = rows.size() > pageSize;
+        if (more) {
+            rows.remove(pageSize);
+        }
+        if (!backward) {
+            if (rows.isEmpty() && direction == PageCursor.Direction.AFTER) {
+                // Everything past the cursor was deleted; show the last page that still exists
+                return fetch(PageCursor.before(cursor.getSortKey(), Integer.MAX_VALUE, pageSize), filterParams);
+            }
+            return toPage(rows, more, direction != PageCursor.Direction.FIRST, pageSize);
+        }
+        if (!more) {
+            // Reached the start going back; reload the first page so it is full even if rows were deleted
+            return fetch(PageCursor.first(pageSize), filterParams);
+        }
+        Collections.reverse(rows);
+        return toPage(rows, true, true, pageSize);
+    }
+
+    private Page<T> toPage(List<T> rows, boolean hasNext, boolean hasPrevious, int pageSize) {
+        PageCursor next = null;
+        PageCursor previous = null;
+        if (!rows.isEmpty()) {
+            T first = rows.get(0);
+            T last = rows.get(rows.size() - 1);
+            next = hasNext ? PageCursor.after(sortKey.apply(last), idKey.applyAsInt(last), pageSize) : null;
+            previous = hasPrevious ? PageCursor.before(sortKey.apply(first), idKey.applyAsInt(first), pageSize) : null;
+        }
+        return new Page<>(rows, hasNext, hasPrevious && previous != null, next, previous);
+    }
+}
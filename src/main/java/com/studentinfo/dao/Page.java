@@ -0,0 +1,41 @@
+package com.studentinfo.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list, with cursors for the pages either side of it.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final boolean hasNext;
+    private final boolean hasPrevious;
+    private final PageCursor nextCursor;
+    private final PageCursor previousCursor;
+
+    Page(List<T> items, boolean hasNext, boolean hasPrevious, PageCursor nextCursor, PageCursor previousCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    public List<T> getItems() { return items; }
+
+    // Same position and cursors with the rows replaced, for applying an in-place update
+    public Page<T> withItems(List<T> replacement) {
+        return new Page<>(new ArrayList<>(replacement), hasNext, hasPrevious, nextCursor, previousCursor);
+    }
+
+    public boolean hasNext() { return hasNext; }
+
+    public boolean hasPrevious() { return hasPrevious; }
+
+    // Null when there is no next page
+    public PageCursor nextCursor() { return nextCursor; }
+
+    // Null when this is the first page
+    public PageCursor previousCursor() { return previousCursor; }
+}
@@ -0,0 +1,60 @@
+package com.studentinfo.dao;
+
+/**
+ * Position in a keyset-paginated list: the sort key and ID of the row a page starts after (or ends
+ * before). Immutable, so a cursor can be handed to a background query and kept for the Back button.
+ * Get the first cursor from {@link #first(int)} and later ones from {@link Page#nextCursor()} and
+ * {@link Page#previousCursor()}. {@link #at(int, int)} jumps to a row number with an OFFSET query,
+ * for random access when no neighbouring page is at hand.
+ */
+public final class PageCursor {
+
+    enum Direction {
+        FIRST,
+        AFTER,
+        BEFORE,
+        OFFSET
+    }
+
+    private final Direction direction;
+    private final Object sortKey;
+    private final int id; // Row ID for AFTER/BEFORE, row offset for OFFSET
+    private final int pageSize;
+
+    private PageCursor(Direction direction, Object sortKey, int id, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        this.direction = direction;
+        this.sortKey = sortKey;
+        this.id = id;
+        this.pageSize = pageSize;
+    }
+
+    public static PageCursor first(int pageSize) {
+        return new PageCursor(Direction.FIRST, null, 0, pageSize);
+    }
+
+    public static PageCursor at(int offset, int pageSize) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative.");
+        }
+        return offset == 0 ? first(pageSize) : new PageCursor(Direction.OFFSET, null, offset, pageSize);
+    }
+
+    static PageCursor after(Object sortKey, int id, int pageSize) {
+        return new PageCursor(Direction.AFTER, sortKey, id, pageSize);
+    }
+
+    static PageCursor before(Object sortKey, int id, int pageSize) {
+        return new PageCursor(Direction.BEFORE, sortKey, id, pageSize);
+    }
+
+    Direction getDirection() { return direction; }
+
+    Object getSortKey() { return sortKey; }
+
+    int getId() { return id; }
+
+    public int getPageSize() { return pageSize; }
+}
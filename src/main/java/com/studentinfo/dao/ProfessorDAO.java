@@ -1,13 +1,26 @@
 package com.studentinfo.dao;
 
 import com.studentinfo.Professor;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.ProfessorChanged;
+import com.studentinfo.util.DaoExecutor;
 import com.studentinfo.util.DatabaseConnector;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ProfessorDAO {
+    private static final KeysetQuery<Professor> PROFESSOR_PAGES = new KeysetQuery<>(
+            "Professor", "prof_name", "prof_id",
+            rs -> new Professor(
+                    rs.getInt("prof_id"),
+                    rs.getString("prof_name"),
+                    rs.getString("email"),
+                    rs.getString("phone"),
+                    rs.getInt("dept_id")),
+            Professor::getProf_name, Professor::getProf_id);
 
     public boolean addProfessor(Professor professor) {
         String sql = "INSERT INTO Professor (prof_name, email, phone, dept_id) VALUES (?, ?, ?, ?)";
@@ -24,12 +37,14 @@ public class ProfessorDAO {
                         professor.setProf_id(generatedKeys.getInt(1));
                     }
                 }
-                return true;
+            } else {
+                return false;
             }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
-        return false;
+        ChangeBus.get().publish(ProfessorChanged.added(professor));
+        return true;
     }
 
     public Professor getProfessorById(int profId) {
@@ -57,8 +72,8 @@ public class ProfessorDAO {
         List<Professor> professors = new ArrayList<>();
         String sql = "SELECT * FROM Professor ORDER BY prof_name";
         try (Connection conn = DatabaseConnector.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 professors.add(new Professor(
                     rs.getInt("prof_id"),
@@ -74,6 +89,15 @@ public class ProfessorDAO {
         return professors;
     }
 
+    // Same order as getAllProfessors, one page at a time
+    public Page<Professor> getProfessorsPage(PageCursor cursor) {
+        return PROFESSOR_PAGES.fetch(cursor);
+    }
+
+    public int countProfessors() {
+        return PROFESSOR_PAGES.count();
+    }
+
     public List<Professor> getProfessorsByDepartmentId(int deptId) {
         List<Professor> professors = new ArrayList<>();
         String sql = "SELECT * FROM Professor WHERE dept_id = ? ORDER BY prof_name";
@@ -105,11 +129,14 @@ public class ProfessorDAO {
             pstmt.setString(3, professor.getPhone());
             pstmt.setInt(4, professor.getDept_id());
             pstmt.setInt(5, professor.getProf_id());
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        ChangeBus.get().publish(ProfessorChanged.updated(professor));
+        return true;
     }
 
     public boolean deleteProfessor(int profId) {
@@ -117,10 +144,27 @@ public class ProfessorDAO {
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, profId);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        // Subscribers account for ON DELETE SET NULL on the professor's courses
+        ChangeBus.get().publish(ProfessorChanged.deleted(profId));
+        return true;
+    }
+
+    // Asynchronous variants run on DaoExecutor
+    public CompletableFuture<Professor> getProfessorByIdAsync(int profId) {
+        return DaoExecutor.supplyAsync(() -> getProfessorById(profId));
+    }
+
+    public CompletableFuture<List<Professor>> getAllProfessorsAsync() {
+        return DaoExecutor.supplyAsync(() -> getAllProfessors());
+    }
+
+    public CompletableFuture<List<Professor>> getProfessorsByDepartmentIdAsync(int deptId) {
+        return DaoExecutor.supplyAsync(() -> getProfessorsByDepartmentId(deptId));
     }
-} 
\ No newline at end of file
+}
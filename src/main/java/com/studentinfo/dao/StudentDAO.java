@@ -1,13 +1,37 @@
 package com.studentinfo.dao;
 
 import com.studentinfo.Student;
+import com.studentinfo.event.ChangeBus;
+import com.studentinfo.event.StudentChanged;
+import com.studentinfo.util.CsvUtil;
+import com.studentinfo.util.DaoExecutor;
 import com.studentinfo.util.DatabaseConnector;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class StudentDAO {
+    private static final List<String> CSV_COLUMNS = Arrays.asList("name", "address", "city", "state", "zip");
+
+    private static final KeysetQuery<Student> STUDENT_PAGES = new KeysetQuery<>(
+            "Student", "name", "student_id",
+            rs -> new Student(
+                    rs.getInt("student_id"),
+                    rs.getString("name"),
+                    rs.getString("address"),
+                    rs.getString("city"),
+                    rs.getString("state"),
+                    rs.getString("zip")),
+            Student::getName, Student::getId);
 
     public boolean addStudent(Student student) {
         String sql = "{CALL add_student_proc(?, ?, ?, ?, ?)}";
@@ -29,10 +53,167 @@ public class StudentDAO {
                     student.setId(rs.getInt(1));
                 }
             }
-            return true;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        ChangeBus.get().publish(StudentChanged.added(student));
+        return true;
+    }
 
+    /**
+     * Streams a CSV file of students (name,address,city,state,zip; header row optional) into the
+     * Student table in batches of batchSize rows. Each batch is one transaction and its generated IDs
+     * are read back in a single call. If the server rejects a batch, its rows are retried one at a time
+     * so only the offending rows are reported and the rest are still imported.
+     * Rows go through a plain INSERT rather than add_student_proc, which does the same insert but
+     * cannot be batched with generated keys. Adding rewriteBatchedStatements=true to db.url lets the
+     * driver send each batch as one multi-row INSERT.
+     */
+    public StudentImportResult importStudents(Path csvFile, int batchSize, StudentImportResult.ProgressListener listener) {
+        String sql = "INSERT INTO Student (name, address, city, state, zip) VALUES (?, ?, ?, ?, ?)";
+        StudentImportResult result = new StudentImportResult();
+        List<CsvRow> batch = new ArrayList<>(batchSize);
+        List<Student> imported = new ArrayList<>();
+        int rowsProcessed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || (lineNumber == 1 && isCsvHeader(line))) {
+                    continue; // Blank line or header row
+                }
+                rowsProcessed++;
+                try {
+                    batch.add(parseCsvRow(lineNumber, line));
+                } catch (IllegalArgumentException e) {
+                    result.addFailure(lineNumber, e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flushBatch(conn, stmt, batch, result, imported);
+                    if (listener != null && !listener.onProgress(rowsProcessed, result.getImportedCount(), result.getFailures().size())) {
+                        result.markStopped();
+                        return result;
+                    }
+                }
+            }
+            flushBatch(conn, stmt, batch, result, imported);
+            if (listener != null) {
+                listener.onProgress(rowsProcessed, result.getImportedCount(), result.getFailures().size());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + csvFile + ": " + e.getMessage(), e);
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        } finally {
+            // The connection is released by now; batches committed before a failure or a stop are still announced
+            for (Student student : imported) {
+                ChangeBus.get().publish(StudentChanged.added(student));
+            }
+        }
+        return result;
+    }
+
+    // Only the exact column names, in any case, so a first student such as "Namei Sato" is still imported
+    private static boolean isCsvHeader(String line) {
+        List<String> fields;
+        try {
+            fields = CsvUtil.parseLine(line);
+        } catch (IllegalArgumentException e) {
+            return false; // Reported as a bad row by parseCsvRow
+        }
+        if (fields.size() != CSV_COLUMNS.size()) {
+            return false;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).trim().equalsIgnoreCase(CSV_COLUMNS.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CsvRow parseCsvRow(int lineNumber, String line) {
+        List<String> fields = CsvUtil.parseLine(line);
+        if (fields.size() != 5) {
+            throw new IllegalArgumentException("Expected 5 fields (name,address,city,state,zip) but found " + fields.size() + ".");
+        }
+        String name = fields.get(0).trim();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Name is required.");
+        }
+        Student student = new Student(0, name, fields.get(1).trim(), fields.get(2).trim(), fields.get(3).trim(), fields.get(4).trim());
+        return new CsvRow(lineNumber, student);
+    }
+
+    // Commits the batch and adds its inserted students to imported, for publishing once the import is done
+    private void flushBatch(Connection conn, PreparedStatement stmt, List<CsvRow> batch, StudentImportResult result,
+                            List<Student> imported) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CsvRow> inserted = new ArrayList<>(batch.size());
+        try {
+            for (CsvRow row : batch) {
+                bindStudent(stmt, row.student);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (CsvRow row : batch) {
+                    if (generatedKeys.next()) {
+                        row.student.setId(generatedKeys.getInt(1));
+                    }
+                    inserted.add(row);
+                }
+            }
+        } catch (BatchUpdateException e) {
+            conn.rollback();
+            stmt.clearBatch();
+            inserted.clear();
+            // Retry row by row; a failed statement only rolls back itself, not the whole transaction
+            for (CsvRow row : batch) {
+                try {
+                    bindStudent(stmt, row.student);
+                    stmt.executeUpdate();
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            row.student.setId(generatedKeys.getInt(1));
+                        }
+                    }
+                    inserted.add(row);
+                } catch (SQLException rowError) {
+                    result.addFailure(row.lineNumber, rowError.getMessage());
+                }
+            }
+        }
+        conn.commit();
+        for (CsvRow row : inserted) {
+            result.addGeneratedId(row.student.getId());
+            imported.add(row.student);
+        }
+        batch.clear();
+    }
+
+    private void bindStudent(PreparedStatement stmt, Student student) throws SQLException {
+        stmt.setString(1, student.getName());
+        stmt.setString(2, student.getAddress());
+        stmt.setString(3, student.getCity());
+        stmt.setString(4, student.getState());
+        stmt.setString(5, student.getZip());
+    }
+
+    private static final class CsvRow {
+        private final int lineNumber;
+        private final Student student;
+
+        private CsvRow(int lineNumber, Student student) {
+            this.lineNumber = lineNumber;
+            this.student = student;
         }
     }
 
@@ -60,12 +241,61 @@ public class StudentDAO {
         return null;
     }
 
+    // Every student ID in ascending order, for batch jobs that work through students in chunks
+    public List<Integer> getAllStudentIds() {
+        List<Integer> ids = new ArrayList<>();
+        String sql = "SELECT student_id FROM Student ORDER BY student_id";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return ids;
+    }
+
+    /**
+     * The given students with one query, in no particular order; unknown IDs are skipped.
+     * Keep the list to a few thousand IDs per call.
+     */
+    public List<Student> getStudentsByIds(List<Integer> studentIds) {
+        List<Student> students = new ArrayList<>(studentIds.size());
+        if (studentIds.isEmpty()) {
+            return students;
+        }
+        String sql = "SELECT * FROM Student WHERE student_id IN (" + String.join(",", Collections.nCopies(studentIds.size(), "?")) + ")";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < studentIds.size(); i++) {
+                stmt.setInt(i + 1, studentIds.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(new Student(
+                            rs.getInt("student_id"),
+                            rs.getString("name"),
+                            rs.getString("address"),
+                            rs.getString("city"),
+                            rs.getString("state"),
+                            rs.getString("zip")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return students;
+    }
+
     public List<Student> getAllStudents() {
         List<Student> students = new ArrayList<>();
         String sql = "SELECT * FROM Student ORDER BY name";
         try (Connection conn = DatabaseConnector.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
                 students.add(new Student(
@@ -83,6 +313,15 @@ public class StudentDAO {
         return students;
     }
 
+    // Same order as getAllStudents, one page at a time
+    public Page<Student> getStudentsPage(PageCursor cursor) {
+        return STUDENT_PAGES.fetch(cursor);
+    }
+
+    public int countStudents() {
+        return STUDENT_PAGES.count();
+    }
+
     public boolean updateStudent(Student student) {
         String sql = "UPDATE Student SET name = ?, address = ?, city = ?, state = ?, zip = ? WHERE student_id = ?";
         try (Connection conn = DatabaseConnector.getConnection();
@@ -95,11 +334,14 @@ public class StudentDAO {
             stmt.setString(5, student.getZip());
             stmt.setInt(6, student.getId());
 
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        ChangeBus.get().publish(StudentChanged.updated(student));
+        return true;
     }
 
     public boolean deleteStudent(int studentId) {
@@ -108,10 +350,22 @@ public class StudentDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, studentId);
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
         }
+        ChangeBus.get().publish(StudentChanged.deleted(studentId));
+        return true;
+    }
+
+    // Asynchronous variants run on DaoExecutor
+    public CompletableFuture<Student> getStudentByIdAsync(int studentId) {
+        return DaoExecutor.supplyAsync(() -> getStudentById(studentId));
+    }
+
+    public CompletableFuture<List<Student>> getAllStudentsAsync() {
+        return DaoExecutor.supplyAsync(() -> getAllStudents());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.studentinfo.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link StudentDAO#importStudents}: the IDs of the students created, in file order,
+ * and the rows that could not be imported.
+ */
+public class StudentImportResult {
+
+    /**
+     * Notified after each batch is committed.
+     */
+    public interface ProgressListener {
+        // Return false to stop before the next batch; batches already committed are kept
+        boolean onProgress(int rowsProcessed, int rowsImported, int rowsFailed);
+    }
+
+    /**
+     * A CSV row that was skipped, identified by its 1-based line number in the file.
+     */
+    public static class RowFailure {
+        private final int lineNumber;
+        private final String message;
+
+        RowFailure(int lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public int getLineNumber() { return lineNumber; }
+
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + message;
+        }
+    }
+
+    private final List<Integer> generatedIds = new ArrayList<>();
+    private final List<RowFailure> failures = new ArrayList<>();
+    private boolean stopped;
+
+    void addGeneratedId(int id) {
+        generatedIds.add(id);
+    }
+
+    void addFailure(int lineNumber, String message) {
+        failures.add(new RowFailure(lineNumber, message));
+    }
+
+    void markStopped() {
+        stopped = true;
+    }
+
+    public List<Integer> getGeneratedIds() { return Collections.unmodifiableList(generatedIds); }
+
+    public List<RowFailure> getFailures() { return Collections.unmodifiableList(failures); }
+
+    public int getImportedCount() { return generatedIds.size(); }
+
+    // True when the progress listener asked to stop before the end of the file
+    public boolean isStopped() { return stopped; }
+}
@@ -0,0 +1,24 @@
+package com.studentinfo.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes collected for one coalescing subscriber since its last delivery, oldest first, with at most
+ * one event per row. After a storm too large to keep, the batch is an overflow: the individual events
+ * were dropped and the subscriber should reload everything instead.
+ */
+public final class ChangeBatch<E extends ChangeEvent> {
+    private final List<E> events;
+    private final boolean overflow;
+
+    ChangeBatch(List<E> events, boolean overflow) {
+        this.events = Collections.unmodifiableList(events);
+        this.overflow = overflow;
+    }
+
+    // Empty for an overflow batch
+    public List<E> getEvents() { return events; }
+
+    public boolean isOverflow() { return overflow; }
+}
@@ -0,0 +1,175 @@
+package com.studentinfo.event;
+
+import com.studentinfo.util.DatabaseConfig;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for {@link ChangeEvent}s, published by the DAOs after each committed write.
+ * Plain subscribers are called on the publishing thread before the DAO call returns, which suits
+ * caches that must never serve a row older than a completed write. Coalescing subscribers get
+ * batches instead: events are held for a short delay, merged per row, and delivered together on the
+ * executor of the subscriber's choice (e.g. the event dispatch thread), so a bulk import or a
+ * section's worth of grades turns into one table update rather than thousands.
+ */
+public final class ChangeBus {
+
+    /**
+     * Handle returned by the subscribe methods.
+     */
+    public interface Subscription {
+        void cancel();
+    }
+
+    private interface Subscriber {
+        void accept(ChangeEvent event);
+    }
+
+    private static final ChangeBus INSTANCE = new ChangeBus();
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final long coalesceMillis = DatabaseConfig.getEventCoalesceMillis();
+    private final int maxPending = DatabaseConfig.getEventMaxPending();
+    private volatile ScheduledExecutorService flusher;
+
+    private ChangeBus() {
+    }
+
+    public static ChangeBus get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Calls the listener on the publishing thread for every event of the given type.
+     */
+    public <E extends ChangeEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        Subscriber subscriber = event -> {
+            if (type.isInstance(event)) {
+                listener.accept(type.cast(event));
+            }
+        };
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Delivers events of the given type in merged batches on the given executor, at most one batch
+     * per coalescing delay.
+     */
+    public <E extends ChangeEvent> Subscription subscribeCoalesced(Class<E> type, Executor deliverOn, Consumer<ChangeBatch<E>> listener) {
+        CoalescingSubscriber<E> subscriber = new CoalescingSubscriber<>(type, deliverOn, listener);
+        subscribers.add(subscriber);
+        return () -> {
+            subscriber.cancelled = true;
+            subscribers.remove(subscriber);
+        };
+    }
+
+    public void publish(ChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                // The write has already committed; one failing subscriber must not fail it or starve the rest
+                System.err.println("Change listener failed for " + event + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public void publishAll(Iterable<? extends ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            publish(event);
+        }
+    }
+
+    private ScheduledExecutorService flusher() {
+        ScheduledExecutorService current = flusher;
+        if (current == null) {
+            synchronized (this) {
+                current = flusher;
+                if (current == null) {
+                    current = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "change-bus-flush");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    flusher = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private final class CoalescingSubscriber<E extends ChangeEvent> implements Subscriber {
+        private final Class<E> type;
+        private final Executor deliverOn;
+        private final Consumer<ChangeBatch<E>> listener;
+        // Pending events by (class, key), in first-seen order; guarded by this
+        private final Map<List<Object>, E> pending = new LinkedHashMap<>();
+        private boolean overflow;
+        private boolean flushScheduled;
+        private volatile boolean cancelled;
+
+        private CoalescingSubscriber(Class<E> type, Executor deliverOn, Consumer<ChangeBatch<E>> listener) {
+            this.type = type;
+            this.deliverOn = deliverOn;
+            this.listener = listener;
+        }
+
+        @Override
+        public void accept(ChangeEvent event) {
+            if (!type.isInstance(event)) {
+                return;
+            }
+            synchronized (this) {
+                if (!overflow) {
+                    List<Object> key = List.of(event.getClass(), event.getKey());
+                    E previous = pending.get(key);
+                    ChangeEvent merged = previous == null ? event : previous.mergeWith(event);
+                    if (merged == null) {
+                        pending.remove(key);
+                    } else {
+                        pending.put(key, type.cast(merged));
+                    }
+                    if (pending.size() > maxPending) {
+                        // Too many rows to replay one by one; the subscriber reloads instead
+                        pending.clear();
+                        overflow = true;
+                    }
+                }
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    flusher().schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        private void flush() {
+            ChangeBatch<E> batch;
+            synchronized (this) {
+                flushScheduled = false;
+                if (pending.isEmpty() && !overflow) {
+                    return; // Everything cancelled out
+                }
+                batch = new ChangeBatch<>(new ArrayList<>(pending.values()), overflow);
+                pending.clear();
+                overflow = false;
+            }
+            deliverOn.execute(() -> {
+                if (!cancelled) {
+                    listener.accept(batch);
+                }
+            });
+        }
+    }
+}
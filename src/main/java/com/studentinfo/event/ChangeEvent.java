@@ -0,0 +1,46 @@
+package com.studentinfo.event;
+
+/**
+ * Something written to the database, published on {@link ChangeBus} once the write has committed.
+ * Events with the same key describe the same row, which is what lets the bus merge them.
+ */
+public abstract class ChangeEvent {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    protected ChangeEvent(Type type) {
+        this.type = type;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // Identifies the changed row within its event class
+    public abstract Object getKey();
+
+    // The same change relabelled, used when merging
+    protected abstract ChangeEvent withType(Type type);
+
+    // Net effect of this change followed by a later one to the same row, or null when they cancel out
+    ChangeEvent mergeWith(ChangeEvent later) {
+        if (type == Type.ADDED) {
+            return later.type == Type.DELETED ? null : later.withType(Type.ADDED);
+        }
+        if (type == Type.DELETED && later.type == Type.ADDED) {
+            return later.withType(Type.UPDATED); // Deleted and added again under the same key
+        }
+        return later;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + type + " " + getKey() + "]";
+    }
+}
@@ -0,0 +1,27 @@
+package com.studentinfo.event;
+
+import com.studentinfo.Course;
+
+public final class CourseChanged extends EntityChanged<Course> {
+
+    private CourseChanged(Type type, int id, Course course) {
+        super(type, id, course);
+    }
+
+    public static CourseChanged added(Course course) {
+        return new CourseChanged(Type.ADDED, course.getId(), course);
+    }
+
+    public static CourseChanged updated(Course course) {
+        return new CourseChanged(Type.UPDATED, course.getId(), course);
+    }
+
+    public static CourseChanged deleted(int id) {
+        return new CourseChanged(Type.DELETED, id, null);
+    }
+
+    @Override
+    protected CourseChanged withType(Type type) {
+        return new CourseChanged(type, getId(), getEntity());
+    }
+}
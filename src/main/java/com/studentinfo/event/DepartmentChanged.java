@@ -0,0 +1,27 @@
+package com.studentinfo.event;
+
+import com.studentinfo.Department;
+
+public final class DepartmentChanged extends EntityChanged<Department> {
+
+    private DepartmentChanged(Type type, int id, Department department) {
+        super(type, id, department);
+    }
+
+    public static DepartmentChanged added(Department department) {
+        return new DepartmentChanged(Type.ADDED, department.getId(), department);
+    }
+
+    public static DepartmentChanged updated(Department department) {
+        return new DepartmentChanged(Type.UPDATED, department.getId(), department);
+    }
+
+    public static DepartmentChanged deleted(int id) {
+        return new DepartmentChanged(Type.DELETED, id, null);
+    }
+
+    @Override
+    protected DepartmentChanged withType(Type type) {
+        return new DepartmentChanged(type, getId(), getEntity());
+    }
+}
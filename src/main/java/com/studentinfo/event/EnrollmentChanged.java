@@ -0,0 +1,58 @@
+package com.studentinfo.event;
+
+import com.studentinfo.Term;
+
+import java.util.Arrays;
+
+/**
+ * An enrollment was added or its grade changed. Enrollments are identified by student, course,
+ * year and semester, since grade updates are made by that key rather than by enrollment ID.
+ */
+public final class EnrollmentChanged extends ChangeEvent {
+    private final int studentId;
+    private final int courseId;
+    private final String year;
+    private final String semester;
+    private final String grade;
+
+    private EnrollmentChanged(Type type, int studentId, int courseId, String year, String semester, String grade) {
+        super(type);
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.year = year;
+        this.semester = semester;
+        this.grade = grade;
+    }
+
+    public static EnrollmentChanged added(int studentId, int courseId, String year, String semester, String grade) {
+        return new EnrollmentChanged(Type.ADDED, studentId, courseId, year, semester, grade);
+    }
+
+    public static EnrollmentChanged gradeChanged(int studentId, int courseId, String year, String semester, String grade) {
+        return new EnrollmentChanged(Type.UPDATED, studentId, courseId, year, semester, grade);
+    }
+
+    public int getStudentId() { return studentId; }
+
+    public int getCourseId() { return courseId; }
+
+    public String getYear() { return year; }
+
+    public String getSemester() { return semester; }
+
+    // Null for a grade change on a row whose semester is not a season; added enrollments always have a term
+    public Term getTerm() { return Term.parse(year, semester); }
+
+    // Null when the grade was cleared
+    public String getGrade() { return grade; }
+
+    @Override
+    public Object getKey() {
+        return Arrays.asList(studentId, courseId, year, semester);
+    }
+
+    @Override
+    protected EnrollmentChanged withType(Type type) {
+        return new EnrollmentChanged(type, studentId, courseId, year, semester, grade);
+    }
+}
@@ -0,0 +1,29 @@
+package com.studentinfo.event;
+
+/**
+ * A row of one entity table was added, updated or deleted. Carries the row as written, or null
+ * for a delete. The entity is shared with every subscriber, so it must not be modified.
+ */
+public abstract class EntityChanged<T> extends ChangeEvent {
+    private final int id;
+    private final T entity;
+
+    protected EntityChanged(Type type, int id, T entity) {
+        super(type);
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    @Override
+    public Object getKey() {
+        return id;
+    }
+}
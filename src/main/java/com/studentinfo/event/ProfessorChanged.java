@@ -0,0 +1,27 @@
+package com.studentinfo.event;
+
+import com.studentinfo.Professor;
+
+public final class ProfessorChanged extends EntityChanged<Professor> {
+
+    private ProfessorChanged(Type type, int id, Professor professor) {
+        super(type, id, professor);
+    }
+
+    public static ProfessorChanged added(Professor professor) {
+        return new ProfessorChanged(Type.ADDED, professor.getProf_id(), professor);
+    }
+
+    public static ProfessorChanged updated(Professor professor) {
+        return new ProfessorChanged(Type.UPDATED, professor.getProf_id(), professor);
+    }
+
+    public static ProfessorChanged deleted(int id) {
+        return new ProfessorChanged(Type.DELETED, id, null);
+    }
+
+    @Override
+    protected ProfessorChanged withType(Type type) {
+        return new ProfessorChanged(type, getId(), getEntity());
+    }
+}
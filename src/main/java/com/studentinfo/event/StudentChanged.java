@@ -0,0 +1,27 @@
+package com.studentinfo.event;
+
+import com.studentinfo.Student;
+
+public final class StudentChanged extends EntityChanged<Student> {
+
+    private StudentChanged(Type type, int id, Student student) {
+        super(type, id, student);
+    }
+
+    public static StudentChanged added(Student student) {
+        return new StudentChanged(Type.ADDED, student.getId(), student);
+    }
+
+    public static StudentChanged updated(Student student) {
+        return new StudentChanged(Type.UPDATED, student.getId(), student);
+    }
+
+    public static StudentChanged deleted(int id) {
+        return new StudentChanged(Type.DELETED, id, null);
+    }
+
+    @Override
+    protected StudentChanged withType(Type type) {
+        return new StudentChanged(type, getId(), getEntity());
+    }
+}
@@ -0,0 +1,129 @@
+package com.studentinfo.gpa;
+
+import com.studentinfo.dao.EnrollmentDAO;
+import com.studentinfo.event.ChangeEvent;
+import com.studentinfo.event.CourseChanged;
+import com.studentinfo.event.EnrollmentChanged;
+import com.studentinfo.event.StudentChanged;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Term and cumulative GPA per student, weighted by course credits. A student's transcript is read
+ * once, on first request, and then kept in memory (up to a fixed number of students, least recently
+ * used first out) and maintained from change events: a grade change adjusts the running totals
+ * instead of reading the transcript again, so repeated requests never touch the database.
+ * Feed it every enrollment, course and student change through the *Changed methods.
+ */
+public class GpaService {
+    private final EnrollmentDAO enrollmentDAO;
+    private final GradeScale scale;
+    private final IntUnaryOperator courseCredits;
+    // Access-ordered; guarded by itself
+    private final Map<Integer, Transcript> transcripts;
+    // Bumped by every change; a transcript read while it moved may have missed one and is not kept
+    private volatile long changeVersion;
+
+    /**
+     * @param courseCredits credits of a course by ID, for enrollments added after a transcript was read,
+     *                      or -1 when not known without a database read; the student's transcript is
+     *                      then read again on the next request
+     */
+    public GpaService(EnrollmentDAO enrollmentDAO, GradeScale scale, IntUnaryOperator courseCredits, int maxStudents) {
+        this.enrollmentDAO = enrollmentDAO;
+        this.scale = scale;
+        this.courseCredits = courseCredits;
+        this.transcripts = new LinkedHashMap<Integer, Transcript>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Transcript> eldest) {
+                return size() > maxStudents;
+            }
+        };
+    }
+
+    public GradeScale getScale() {
+        return scale;
+    }
+
+    /**
+     * The student's GPA. Reads the transcript on the first request for a student, so call it off the
+     * event dispatch thread; after that it is answered from memory.
+     */
+    public StudentGpa getGpa(int studentId) {
+        Transcript transcript;
+        synchronized (transcripts) {
+            transcript = transcripts.get(studentId);
+        }
+        if (transcript == null) {
+            long versionBeforeLoad = changeVersion;
+            transcript = new Transcript(studentId, scale, enrollmentDAO.getTranscript(studentId));
+            synchronized (transcripts) {
+                if (changeVersion == versionBeforeLoad) {
+                    transcripts.putIfAbsent(studentId, transcript);
+                }
+            }
+        }
+        return transcript.toGpa();
+    }
+
+    public void enrollmentChanged(EnrollmentChanged change) {
+        Transcript transcript;
+        synchronized (transcripts) {
+            changeVersion++;
+            transcript = transcripts.get(change.getStudentId());
+        }
+        if (transcript == null) {
+            return; // Not in memory; read in full on the next request
+        }
+        int credits = transcript.creditsOf(change.getCourseId(), change.getYear(), change.getSemester());
+        if (credits < 0) {
+            credits = courseCredits.applyAsInt(change.getCourseId());
+        }
+        if (credits < 0) {
+            invalidate(change.getStudentId());
+            return;
+        }
+        transcript.set(change.getCourseId(), change.getYear(), change.getSemester(), credits, change.getGrade());
+    }
+
+    // New credits change the weight of every grade in the course, so its students are read again
+    public void courseChanged(CourseChanged change) {
+        if (change.getType() == ChangeEvent.Type.ADDED) {
+            return;
+        }
+        synchronized (transcripts) {
+            changeVersion++;
+            List<Integer> affected = new ArrayList<>();
+            for (Map.Entry<Integer, Transcript> entry : transcripts.entrySet()) {
+                if (entry.getValue().containsCourse(change.getId())) {
+                    affected.add(entry.getKey());
+                }
+            }
+            transcripts.keySet().removeAll(affected);
+        }
+    }
+
+    public void studentChanged(StudentChanged change) {
+        if (change.getType() == ChangeEvent.Type.DELETED) {
+            invalidate(change.getId());
+        }
+    }
+
+    public void invalidate(int studentId) {
+        synchronized (transcripts) {
+            changeVersion++;
+            transcripts.remove(studentId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (transcripts) {
+            changeVersion++;
+            transcripts.clear();
+        }
+    }
+}
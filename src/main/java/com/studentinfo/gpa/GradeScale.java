@@ -0,0 +1,65 @@
+package com.studentinfo.gpa;
+
+import com.studentinfo.Grade;
+import com.studentinfo.util.DatabaseConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grade points per letter grade, on the usual 4.0 scale by default. Points are kept in hundredths so
+ * that running totals can be added to and subtracted from without rounding drift. Grades not on the
+ * scale (blank, or e.g. "P" or "W") carry no points and their credits do not count towards a GPA.
+ */
+public final class GradeScale {
+    private final Map<String, Integer> hundredths;
+
+    public GradeScale(Map<String, Double> points) {
+        Map<String, Integer> scaled = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> entry : points.entrySet()) {
+            scaled.put(entry.getKey(), (int) Math.round(entry.getValue() * 100));
+        }
+        this.hundredths = Collections.unmodifiableMap(scaled);
+    }
+
+    public static GradeScale standard() {
+        Map<String, Double> points = new LinkedHashMap<>();
+        for (Grade grade : Grade.values()) {
+            if (grade.hasPoints()) {
+                points.put(grade.getLabel(), grade.getPoints());
+            }
+        }
+        return new GradeScale(points);
+    }
+
+    // The standard scale with any gpa.points.* overrides from the configuration
+    public static GradeScale fromConfig() {
+        Map<String, Double> points = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : standard().hundredths.entrySet()) {
+            points.put(entry.getKey(), entry.getValue() / 100.0);
+        }
+        points.putAll(DatabaseConfig.getGradePoints());
+        return new GradeScale(points);
+    }
+
+    // Letter grades on the scale, best first
+    public List<String> getGrades() {
+        return new ArrayList<>(hundredths.keySet());
+    }
+
+    public boolean counts(String grade) {
+        return grade != null && hundredths.containsKey(grade);
+    }
+
+    // Grade points in hundredths; only meaningful when counts(grade)
+    int hundredths(String grade) {
+        return hundredths.get(grade);
+    }
+
+    public Double points(String grade) {
+        return counts(grade) ? hundredths(grade) / 100.0 : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.studentinfo.gpa;
+
+import com.studentinfo.TranscriptEntry;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A student's cumulative GPA and GPA per term, weighted by credits. Immutable.
+ */
+public final class StudentGpa {
+    private final int studentId;
+    private final Double cumulativeGpa;
+    private final int credits;
+    private final List<TermGpa> terms;
+
+    StudentGpa(int studentId, Double cumulativeGpa, int credits, List<TermGpa> terms) {
+        this.studentId = studentId;
+        this.cumulativeGpa = cumulativeGpa;
+        this.credits = credits;
+        this.terms = Collections.unmodifiableList(terms);
+    }
+
+    // One-off calculation for a transcript already in hand, e.g. in batch jobs
+    public static StudentGpa calculate(int studentId, GradeScale scale, List<TranscriptEntry> entries) {
+        return new Transcript(studentId, scale, entries).toGpa();
+    }
+
+    public int getStudentId() { return studentId; }
+
+    // Null until the student has a graded course
+    public Double getCumulativeGpa() { return cumulativeGpa; }
+
+    // Credits that count towards the GPA
+    public int getCredits() { return credits; }
+
+    // Terms with at least one graded course, oldest first
+    public List<TermGpa> getTerms() { return terms; }
+
+    public TermGpa getTerm(String year, String semester) {
+        for (TermGpa term : terms) {
+            if (term.getYear().equals(year) && term.getSemester().equals(semester)) {
+                return term;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.studentinfo.gpa;
+
+import com.studentinfo.Term;
+
+import java.util.Comparator;
+
+/**
+ * GPA for one term.
+ */
+public final class TermGpa {
+    static final Comparator<TermGpa> CHRONOLOGICAL =
+            (a, b) -> Term.compare(a.getYear(), a.getSemester(), b.getYear(), b.getSemester());
+
+    private final String year;
+    private final String semester;
+    private final double gpa;
+    private final int credits;
+
+    TermGpa(String year, String semester, double gpa, int credits) {
+        this.year = year;
+        this.semester = semester;
+        this.gpa = gpa;
+        this.credits = credits;
+    }
+
+    public String getYear() { return year; }
+
+    public String getSemester() { return semester; }
+
+    public double getGpa() { return gpa; }
+
+    // Credits that count towards the GPA
+    public int getCredits() { return credits; }
+}
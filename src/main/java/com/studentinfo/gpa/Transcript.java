@@ -0,0 +1,109 @@
+package com.studentinfo.gpa;
+
+import com.studentinfo.TranscriptEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One student's enrollments with running GPA totals per term and overall. Changing a grade adjusts
+ * the totals by the difference between the old and new grade, so it costs the same however long the
+ * transcript is.
+ */
+final class Transcript {
+
+    private static final class Attempt {
+        private final int credits;
+        private final String grade;
+
+        private Attempt(int credits, String grade) {
+            this.credits = credits;
+            this.grade = grade;
+        }
+    }
+
+    private final int studentId;
+    private final GradeScale scale;
+    // Keyed by (courseId, year, semester)
+    private final Map<List<Object>, Attempt> attempts = new HashMap<>();
+    // Keyed by (year, semester): {grade points x credits in hundredths, credits}
+    private final Map<List<String>, long[]> termTotals = new HashMap<>();
+    private long totalPoints;
+    private long totalCredits;
+    private StudentGpa snapshot;
+
+    Transcript(int studentId, GradeScale scale, List<TranscriptEntry> entries) {
+        this.studentId = studentId;
+        this.scale = scale;
+        for (TranscriptEntry entry : entries) {
+            set(entry.getCourseId(), entry.getYear(), entry.getSemester(), entry.getCredits(), entry.getGrade());
+        }
+    }
+
+    // Credits already known for this enrollment, or -1
+    synchronized int creditsOf(int courseId, String year, String semester) {
+        Attempt attempt = attempts.get(Arrays.asList(courseId, year, semester));
+        return attempt != null ? attempt.credits : -1;
+    }
+
+    synchronized boolean containsCourse(int courseId) {
+        for (List<Object> key : attempts.keySet()) {
+            if (key.get(0).equals(courseId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds an enrollment or replaces the grade of an existing one.
+     */
+    synchronized void set(int courseId, String year, String semester, int credits, String grade) {
+        List<Object> key = Arrays.asList(courseId, year, semester);
+        Attempt previous = attempts.put(key, new Attempt(credits, grade));
+        List<String> term = Arrays.asList(year, semester);
+        if (previous != null) {
+            add(term, previous, -1);
+        }
+        add(term, attempts.get(key), 1);
+        snapshot = null;
+    }
+
+    private void add(List<String> term, Attempt attempt, int sign) {
+        if (!scale.counts(attempt.grade)) {
+            return;
+        }
+        long points = (long) scale.hundredths(attempt.grade) * attempt.credits * sign;
+        long credits = (long) attempt.credits * sign;
+        long[] totals = termTotals.computeIfAbsent(term, t -> new long[2]);
+        totals[0] += points;
+        totals[1] += credits;
+        if (totals[1] == 0 && totals[0] == 0) {
+            termTotals.remove(term);
+        }
+        totalPoints += points;
+        totalCredits += credits;
+    }
+
+    synchronized StudentGpa toGpa() {
+        if (snapshot == null) {
+            List<TermGpa> terms = new ArrayList<>(termTotals.size());
+            for (Map.Entry<List<String>, long[]> entry : termTotals.entrySet()) {
+                long[] totals = entry.getValue();
+                if (totals[1] > 0) {
+                    terms.add(new TermGpa(entry.getKey().get(0), entry.getKey().get(1), gpa(totals[0], totals[1]), (int) totals[1]));
+                }
+            }
+            terms.sort(TermGpa.CHRONOLOGICAL);
+            snapshot = new StudentGpa(studentId, totalCredits > 0 ? gpa(totalPoints, totalCredits) : null, (int) totalCredits, terms);
+        }
+        return snapshot;
+    }
+
+    private static double gpa(long points, long credits) {
+        return points / 100.0 / credits;
+    }
+}
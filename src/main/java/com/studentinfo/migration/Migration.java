@@ -0,0 +1,144 @@
+package com.studentinfo.migration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One versioned schema migration: a script named V&lt;version&gt;__&lt;description&gt;.sql under
+ * /db/migration on the classpath. Scripts are listed, in the order they apply, in
+ * /db/migration/migrations.txt, since a classpath directory cannot be listed reliably inside a jar.
+ * The checksum is the SHA-256 of the script lines, so an edit to a script that has already been applied
+ * is noticed while a checkout with other line endings is not.
+ */
+public final class Migration {
+    private static final String LOCATION = "/db/migration/";
+    private static final String INDEX = LOCATION + "migrations.txt";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final int version;
+    private final String description;
+    private final String script;
+    private final String sql;
+    private final String checksum;
+
+    Migration(int version, String description, String script, String sql) {
+        this.version = version;
+        this.description = description;
+        this.script = script;
+        this.sql = sql;
+        this.checksum = sha256(sql);
+    }
+
+    /**
+     * Reads every migration listed in the index. Versions must increase down the list.
+     * @throws IllegalStateException if the index or a script is missing or misnamed
+     */
+    public static List<Migration> loadAll() {
+        List<Migration> migrations = new ArrayList<>();
+        for (String script : readIndex()) {
+            Matcher matcher = SCRIPT_NAME.matcher(script);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Migration script " + script + " is not named V<version>__<description>.sql");
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            if (!migrations.isEmpty() && version <= migrations.get(migrations.size() - 1).version) {
+                throw new IllegalStateException("Migration script " + script + " is listed after a later version");
+            }
+            String sql = String.join("\n", readResource(LOCATION + script));
+            migrations.add(new Migration(version, matcher.group(2).replace('_', ' '), script, sql));
+        }
+        return Collections.unmodifiableList(migrations);
+    }
+
+    // Script names, skipping blank lines and # comments
+    private static List<String> readIndex() {
+        List<String> lines = new ArrayList<>();
+        for (String line : readResource(INDEX)) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                lines.add(trimmed);
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> readResource(String resource) {
+        try (InputStream input = Migration.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("Could not find " + resource + " in classpath.");
+            }
+            List<String> lines = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + resource + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The script's statements without comments. Statements end with a semicolon at the end of a
+     * line; scripts hold plain DDL, so no statement contains one elsewhere.
+     */
+    List<String> getStatements() {
+        List<String> statements = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+        for (String line : sql.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            if (statement.length() > 0) {
+                statement.append('\n');
+            }
+            statement.append(line);
+            if (trimmed.endsWith(";")) {
+                statement.setLength(statement.lastIndexOf(";"));
+                statements.add(statement.toString().trim());
+                statement.setLength(0);
+            }
+        }
+        if (statement.toString().trim().length() > 0) {
+            statements.add(statement.toString().trim()); // Last statement without a semicolon
+        }
+        return statements;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Every JRE has it
+        }
+    }
+
+    public int getVersion() { return version; }
+
+    public String getDescription() { return description; }
+
+    public String getScript() { return script; }
+
+    public String getChecksum() { return checksum; }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
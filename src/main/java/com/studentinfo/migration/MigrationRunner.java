@@ -0,0 +1,163 @@
+package com.studentinfo.migration;
+
+import com.studentinfo.util.DatabaseConfig;
+import com.studentinfo.util.DatabaseConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the schema up to date by applying the migrations that have not run yet, in version order,
+ * and recording each in the SchemaMigration table with its checksum. Applied migrations whose script
+ * has changed since are reported instead of run again. A MySQL named lock keeps two instances
+ * starting at once from applying the same migration twice.
+ *
+ * MySQL commits DDL as it goes, so a migration is recorded only once all its statements have run. A
+ * migration that stopped part way is retried from the start on the next run; an index it had already
+ * created is skipped rather than failing the retry.
+ *
+ * Usage: MigrationRunner
+ */
+public class MigrationRunner {
+    private static final String LOCK_NAME = "student_info_system.schema_migration";
+    private static final int DUPLICATE_KEY_NAME_ERROR = 1061;
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS SchemaMigration ("
+            + "version INT PRIMARY KEY, "
+            + "description VARCHAR(255) NOT NULL, "
+            + "script VARCHAR(255) NOT NULL, "
+            + "checksum CHAR(64) NOT NULL, "
+            + "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+            + "execution_millis BIGINT NOT NULL)";
+
+    private final List<Migration> migrations;
+
+    public MigrationRunner() {
+        this(Migration.loadAll());
+    }
+
+    public MigrationRunner(List<Migration> migrations) {
+        this.migrations = migrations;
+    }
+
+    /**
+     * Applies the pending migrations and returns them; empty when the schema was already current.
+     * @throws IllegalStateException if an applied migration's script has changed, or the lock could not be taken
+     */
+    public List<Migration> migrate() {
+        List<Migration> applied = new ArrayList<>();
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            lock(conn);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(CREATE_TABLE_SQL);
+                }
+                Map<Integer, String> checksums = getAppliedChecksums(conn);
+                for (Migration migration : migrations) {
+                    String checksum = checksums.get(migration.getVersion());
+                    if (checksum == null) {
+                        apply(conn, migration);
+                        applied.add(migration);
+                    } else if (!checksum.equals(migration.getChecksum())) {
+                        throw new IllegalStateException("Migration " + migration + " (" + migration.getScript()
+                                + ") has changed since it was applied. Add a new migration instead of editing it.");
+                    }
+                }
+            } finally {
+                unlock(conn);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database operation failed: " + e.getMessage(), e);
+        }
+        return applied;
+    }
+
+    private static void lock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, DatabaseConfig.getMigrationLockTimeoutSeconds());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new IllegalStateException("Timed out waiting for another instance to finish migrating the schema.");
+                }
+            }
+        }
+    }
+
+    private static void unlock(Connection conn) {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            // Returned to the pool, the session would keep the lock and stall every later startup; a closed
+            // connection is discarded by the pool instead, and ending its session frees the lock
+            System.err.println("WARNING: Could not release the schema migration lock: " + e.getMessage() + ", closing the connection");
+            try {
+                conn.abort(Runnable::run);
+            } catch (SQLException abortError) {
+                System.err.println("WARNING: Could not close the connection holding the schema migration lock: " + abortError.getMessage());
+            }
+        }
+    }
+
+    private static Map<Integer, String> getAppliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> checksums = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM SchemaMigration")) {
+            while (rs.next()) {
+                checksums.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return checksums;
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : migration.getStatements()) {
+                try {
+                    stmt.execute(statement);
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != DUPLICATE_KEY_NAME_ERROR) {
+                        throw new SQLException("Migration " + migration + " failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+                    }
+                    System.err.println("WARNING: Migration " + migration + ": " + e.getMessage() + ", skipping");
+                }
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        String sql = "INSERT INTO SchemaMigration (version, description, script, checksum, execution_millis) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.getVersion());
+            pstmt.setString(2, migration.getDescription());
+            pstmt.setString(3, migration.getScript());
+            pstmt.setString(4, migration.getChecksum());
+            pstmt.setLong(5, elapsedMillis);
+            pstmt.executeUpdate();
+        }
+        System.out.printf("Applied migration %s in %d ms%n", migration, elapsedMillis);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 0) {
+            System.err.println("Usage: MigrationRunner");
+            System.exit(2);
+        }
+        try {
+            List<Migration> applied = new MigrationRunner().migrate();
+            if (applied.isEmpty()) {
+                System.out.println("Schema is up to date.");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Migration failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
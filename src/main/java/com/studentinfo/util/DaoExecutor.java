@@ -0,0 +1,99 @@
+package com.studentinfo.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor behind the DAOs' *Async methods.
+ * Runs on virtual threads when the JDK provides them, otherwise on a fixed pool sized to the
+ * connection pool. A semaphore caps queued plus running calls, so when the connection pool is
+ * saturated new submissions wait (back-pressure) instead of piling up unbounded.
+ */
+public final class DaoExecutor {
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final Semaphore IN_FLIGHT = new Semaphore(DatabaseConfig.getAsyncMaxInFlight(), true);
+
+    private DaoExecutor() {
+    }
+
+    /**
+     * Runs a blocking DAO call asynchronously. Blocks the caller for up to the pool's borrow timeout
+     * when the in-flight limit is reached; after that the returned future fails with a
+     * {@link RejectedExecutionException}. Not for the event dispatch thread; use {@link #trySupplyAsync}.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        try {
+            if (!IN_FLIGHT.tryAcquire(DatabaseConfig.getPoolBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                return rejected();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        return submit(call);
+    }
+
+    /**
+     * Like {@link #supplyAsync} but never blocks: when the in-flight limit is reached the returned
+     * future has already failed with a {@link RejectedExecutionException}. Safe on the event dispatch thread.
+     */
+    public static <T> CompletableFuture<T> trySupplyAsync(Supplier<T> call) {
+        return IN_FLIGHT.tryAcquire() ? submit(call) : rejected();
+    }
+
+    private static <T> CompletableFuture<T> rejected() {
+        return CompletableFuture.failedFuture(new RejectedExecutionException("Too many database calls in flight; try again shortly."));
+    }
+
+    // Called holding a permit. Whichever of the task and an early completion (e.g. cancel) claims it first releases it
+    private static <T> CompletableFuture<T> submit(Supplier<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean();
+        future.whenComplete((result, error) -> {
+            if (claimed.compareAndSet(false, true)) {
+                IN_FLIGHT.release(); // Completed before the task started, so it never will run the call
+            }
+        });
+        try {
+            EXECUTOR.execute(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    future.complete(call.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    IN_FLIGHT.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static ExecutorService createExecutor() {
+        if (DatabaseConfig.isAsyncVirtualThreadsEnabled()) {
+            try {
+                // Looked up reflectively so the code still compiles and runs on JDK 11
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Older JDK; fall back to platform threads
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(DatabaseConfig.getAsyncThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "dao-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
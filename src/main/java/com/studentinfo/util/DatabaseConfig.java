@@ -2,6 +2,8 @@ package com.studentinfo.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 public class DatabaseConfig {
@@ -35,4 +37,167 @@ public class DatabaseConfig {
     public static String getDbPassword() {
         return properties.getProperty("db.password");
     }
+
+    // Connection pool settings; every key is optional and falls back to the default shown
+    public static int getPoolMinSize() {
+        return getInt("db.pool.minSize", 2);
+    }
+
+    public static int getPoolMaxSize() {
+        return getInt("db.pool.maxSize", 10);
+    }
+
+    public static long getPoolIdleTimeoutMillis() {
+        return getLong("db.pool.idleTimeoutMillis", 300000L);
+    }
+
+    public static long getPoolBorrowTimeoutMillis() {
+        return getLong("db.pool.borrowTimeoutMillis", 10000L);
+    }
+
+    public static int getPoolValidationTimeoutSeconds() {
+        return getInt("db.pool.validationTimeoutSeconds", 2);
+    }
+
+    // Prepared statements kept per pooled connection; 0 disables statement caching
+    public static int getStatementCacheSize() {
+        return getInt("db.statementCache.size", 50);
+    }
+
+    // Executor behind the DAOs' *Async methods
+    public static int getAsyncThreads() {
+        return getInt("db.async.threads", getPoolMaxSize());
+    }
+
+    public static int getAsyncMaxInFlight() {
+        return getInt("db.async.maxInFlight", getPoolMaxSize() * 4);
+    }
+
+    public static boolean isAsyncVirtualThreadsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("db.async.virtualThreads", "true").trim());
+    }
+
+    // Rows per JDBC batch for bulk imports
+    public static int getImportBatchSize() {
+        return Math.max(1, getInt("db.import.batchSize", 500));
+    }
+
+    // Entity cache in front of MainFrame's lookups; -Dcache.enabled=false turns it off for debugging
+    public static boolean isEntityCacheEnabled() {
+        return Boolean.parseBoolean(System.getProperty("cache.enabled", properties.getProperty("cache.enabled", "true")).trim());
+    }
+
+    public static int getEntityCacheMaxSize() {
+        return getInt("cache.maxSize", 1000);
+    }
+
+    public static long getEntityCacheTtlSeconds() {
+        return getLong("cache.ttlSeconds", 300L);
+    }
+
+    // Prints each entity cache's hit rate to stderr on exit; off by default, -Dcache.logStats=true when tuning
+    public static boolean isCacheStatsLoggingEnabled() {
+        return Boolean.parseBoolean(System.getProperty("cache.logStats", properties.getProperty("cache.logStats", "false")).trim());
+    }
+
+    // How long change events are held so bursts reach panels as one batch
+    public static long getEventCoalesceMillis() {
+        return Math.max(1L, getLong("events.coalesceMillis", 100L));
+    }
+
+    // Distinct rows held per subscriber before it is told to reload instead
+    public static int getEventMaxPending() {
+        return Math.max(1, getInt("events.maxPending", 500));
+    }
+
+    // Local ZIP code database built by ZipDatabaseBuilder; used instead of the web service when present
+    public static String getZipDatabasePath() {
+        return properties.getProperty("zip.database", "zipcodes.bin").trim();
+    }
+
+    // Set to false on machines without internet access
+    public static boolean isZipOnlineLookupEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("zip.online", "true").trim());
+    }
+
+    // ZIP codes remembered by the student form, including ones found to be unknown
+    public static int getZipCacheSize() {
+        return Math.max(1, getInt("zip.cacheSize", 2000));
+    }
+
+    // Overrides for the grade point scale, e.g. gpa.points.A-=3.67; grades not listed keep their default
+    public static Map<String, Double> getGradePoints() {
+        Map<String, Double> points = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("gpa.points.")) {
+                String value = properties.getProperty(key).trim();
+                try {
+                    points.put(key.substring("gpa.points.".length()), Double.parseDouble(value));
+                } catch (NumberFormatException e) {
+                    System.err.println("WARNING: Invalid value '" + value + "' for " + key + " in " + CONFIG_FILE_PATH + ", ignoring it");
+                }
+            }
+        }
+        return points;
+    }
+
+    // Students whose GPA is kept in memory
+    public static int getGpaCacheSize() {
+        return Math.max(1, getInt("gpa.cacheSize", 5000));
+    }
+
+    // Term GPA for the dean's list
+    public static double getHonorsGpa() {
+        return getDouble("honors.gpa", 3.5);
+    }
+
+    // Term GPA for the president's list, the higher of the two honors
+    public static double getHighHonorsGpa() {
+        return getDouble("honors.highGpa", 3.9);
+    }
+
+    // Graded credits a student needs in a term to be considered for honors
+    public static int getHonorsMinCredits() {
+        return Math.max(0, getInt("honors.minCredits", 12));
+    }
+
+    // Apply pending schema migrations at startup; off where a DBA runs MigrationRunner by hand
+    public static boolean isMigrationEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("migration.enabled", "true").trim());
+    }
+
+    // How long startup waits for another instance that is migrating the schema
+    public static int getMigrationLockTimeoutSeconds() {
+        return Math.max(0, getInt("migration.lockTimeoutSeconds", 60));
+    }
+
+    static double getDouble(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("WARNING: Invalid value '" + value + "' for " + key + " in " + CONFIG_FILE_PATH + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    static int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+
+    static long getLong(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("WARNING: Invalid value '" + value + "' for " + key + " in " + CONFIG_FILE_PATH + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
 } 
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.studentinfo.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement; // For the closeQuietly method
 import java.sql.ResultSet; // For the closeQuietly method
@@ -18,7 +17,31 @@ public class DatabaseConnector {
         }
     }
 
+    private static volatile ConnectionPool pool;
+
+    /**
+     * Borrows a pooled connection. Closing it returns it to the pool rather than
+     * tearing down the physical MySQL session.
+     */
     public static Connection getConnection() throws SQLException {
+        return getPool().getConnection();
+    }
+
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnector.class) {
+                current = pool;
+                if (current == null) {
+                    current = createPool();
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static ConnectionPool createPool() throws SQLException {
         String url = DatabaseConfig.getDbUrl();
         String user = DatabaseConfig.getDbUsername();
         String password = DatabaseConfig.getDbPassword();
@@ -27,7 +50,16 @@ public class DatabaseConnector {
             throw new SQLException("Database configuration (URL, user, or password) not loaded. Check app.config and logs.");
         }
 
-        return DriverManager.getConnection(url, user, password);
+        ConnectionPool created = new ConnectionPool(url, user, password,
+                DatabaseConfig.getPoolMinSize(),
+                DatabaseConfig.getPoolMaxSize(),
+                DatabaseConfig.getPoolIdleTimeoutMillis(),
+                DatabaseConfig.getPoolBorrowTimeoutMillis(),
+                DatabaseConfig.getPoolValidationTimeoutSeconds(),
+                DatabaseConfig.getStatementCacheSize());
+        // Close idle sessions cleanly so MySQL doesn't log them as aborted connections
+        Runtime.getRuntime().addShutdownHook(new Thread(created::shutdown, "db-pool-shutdown"));
+        return created;
     }
 
     // Utility method to close a Connection
@@ -0,0 +1,195 @@
+package com.studentinfo.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one pooled physical connection.
+ * Statements are keyed by SQL text and generated-keys mode. Closing a handed-out statement
+ * resets it and keeps it for the next caller instead of closing it on the server.
+ */
+class StatementCache {
+    // Key mode used for prepareStatement(sql) without a generated-keys flag
+    private static final int NO_KEYS_MODE = -1;
+
+    private final int maxSize;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    // Access-ordered, so iteration starts at the least recently used statement
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    // Evicted while still leased; closed when given back, or by reclaimAll if the borrower never closes them
+    private final Set<CachedStatement> evictedInUse = new HashSet<>();
+
+    StatementCache(int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    PreparedStatement prepare(Connection physical, Connection owner, String sql) throws SQLException {
+        return prepare(physical, owner, sql, NO_KEYS_MODE);
+    }
+
+    synchronized PreparedStatement prepare(Connection physical, Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+            return cached.lease(owner);
+        }
+        misses.incrementAndGet();
+        PreparedStatement statement = autoGeneratedKeys == NO_KEYS_MODE
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // The cached copy is still open in an outer call on this connection; hand out a plain one
+            return statement;
+        }
+        cached = new CachedStatement(key, statement);
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.lease(owner);
+    }
+
+    /**
+     * Takes back every statement the previous borrower left open so the next one starts clean.
+     */
+    synchronized void reclaimAll() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            CachedStatement cached = iterator.next();
+            if (cached.inUse && !cached.giveBack()) {
+                iterator.remove();
+                DatabaseConnector.closeQuietly(cached.statement);
+            }
+        }
+        for (CachedStatement cached : evictedInUse) {
+            cached.inUse = false; // A late close through the old handle is then ignored
+            DatabaseConnector.closeQuietly(cached.statement);
+        }
+        evictedInUse.clear();
+    }
+
+    private synchronized void giveBack(CachedStatement cached, int leaseId) {
+        if (!cached.inUse || cached.leaseId != leaseId) {
+            return; // Already reclaimed when the connection went back to the pool
+        }
+        if (!cached.giveBack() || cached.evicted) {
+            statements.remove(cached.key, cached);
+            evictedInUse.remove(cached);
+            DatabaseConnector.closeQuietly(cached.statement);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> leastRecent = statements.entrySet().iterator();
+        while (statements.size() > maxSize && leastRecent.hasNext()) {
+            CachedStatement cached = leastRecent.next().getValue();
+            leastRecent.remove();
+            if (cached.inUse) {
+                cached.evicted = true; // Closed for real when its current user is done with it
+                evictedInUse.add(cached);
+            } else {
+                DatabaseConnector.closeQuietly(cached.statement);
+            }
+        }
+    }
+
+    private final class CachedStatement {
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+        private int leaseId;
+
+        private CachedStatement(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        private PreparedStatement lease(Connection owner) {
+            inUse = true;
+            leaseId++;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementHandle(this, leaseId, owner));
+        }
+
+        // Resets parameters and results; false means the statement is unusable and must be dropped
+        private boolean giveBack() {
+            inUse = false;
+            try {
+                ResultSet open = statement.getResultSet();
+                if (open != null) {
+                    open.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final int leaseId;
+        private final Connection owner;
+        private boolean closed;
+
+        private StatementHandle(CachedStatement cached, int leaseId, Connection owner) {
+            this.cached = cached;
+            this.leaseId = leaseId;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        giveBack(cached, leaseId);
+                    }
+                    return null;
+                case "isClosed":
+                    if (closed) {
+                        return true;
+                    }
+                    break;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                default:
+                    break;
+            }
+            if (closed || !cached.inUse || cached.leaseId != leaseId) {
+                throw new SQLException("Statement has already been closed.");
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
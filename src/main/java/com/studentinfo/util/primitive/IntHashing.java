@@ -0,0 +1,41 @@
+package com.studentinfo.util.primitive;
+
+/**
+ * Table sizing and slot arithmetic shared by the open-addressing collections. Tables are powers of
+ * two probed linearly; key 0 marks a free slot, so the collections keep a real key 0 outside the table.
+ */
+final class IntHashing {
+    static final int MIN_CAPACITY = 8;
+    // Tables are grown before they are more than three quarters full
+    static final int MAX_LOAD_PERCENT = 75;
+
+    private IntHashing() {
+    }
+
+    // Smallest power-of-two table that holds the expected entries below the maximum load
+    static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) expectedSize * 100 / MAX_LOAD_PERCENT + 1);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many entries: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    static int maxFill(int capacity) {
+        return (int) ((long) capacity * MAX_LOAD_PERCENT / 100);
+    }
+
+    // Fibonacci hashing with the high bits folded down, so sequential IDs spread across the table
+    static int slot(int key, int mask) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Whether the entry found at slot, which hashes to home, may move into the gap left by a removal.
+     * True when home is not cyclically within (gap, slot], i.e. the probe for the entry passes the gap.
+     */
+    static boolean canFill(int gap, int slot, int home) {
+        return gap <= slot ? home <= gap || home > slot : home <= gap && home > slot;
+    }
+}
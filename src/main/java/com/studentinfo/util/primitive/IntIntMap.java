@@ -0,0 +1,196 @@
+package com.studentinfo.util.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Map from int keys to int values without boxing, laid out like {@link IntObjectMap}. Counters are
+ * kept with addTo. Not thread-safe.
+ */
+public final class IntIntMap {
+
+    public interface Consumer {
+        void accept(int key, int value);
+    }
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int maxFill;
+    // Entries in the table, not counting key 0
+    private int tableSize;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    public IntIntMap(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        maxFill = IntHashing.maxFill(capacity);
+    }
+
+    public int size() {
+        return tableSize + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Slot holding the key, or -1
+    private int find(int key) {
+        int slot = IntHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    public int get(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            zeroValue = value;
+            hasZeroKey = true;
+            return;
+        }
+        values[insertionSlot(key)] = value;
+    }
+
+    // Adds delta to the key's value, starting from 0 for a new key, and returns the new value
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = insertionSlot(key);
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    // Slot of the key, claimed (with value 0) if it was missing; may grow the table first
+    private int insertionSlot(int key) {
+        if (tableSize >= maxFill) {
+            rehash(keys.length * 2);
+        }
+        int slot = IntHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = 0;
+        tableSize++;
+        return slot;
+    }
+
+    // Returns whether the key was present
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+        int gap = find(key);
+        if (gap < 0) {
+            return false;
+        }
+        // Backward-shift deletion, as in IntObjectMap
+        tableSize--;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int next = keys[slot];
+            if (next == 0) {
+                break;
+            }
+            if (IntHashing.canFill(gap, slot, IntHashing.slot(next, mask))) {
+                keys[gap] = next;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+        return true;
+    }
+
+    public void clear() {
+        if (tableSize > 0) {
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, 0);
+            tableSize = 0;
+        }
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public void forEach(Consumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        int[] tableKeys = keys;
+        int[] tableValues = values;
+        for (int slot = 0; slot < tableKeys.length; slot++) {
+            if (tableKeys[slot] != 0) {
+                action.accept(tableKeys[slot], tableValues[slot]);
+            }
+        }
+    }
+
+    // Keys in no particular order
+    public int[] keys() {
+        int[] result = new int[size()];
+        int i = 0;
+        if (hasZeroKey) {
+            result[i++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = IntHashing.slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.studentinfo.util.primitive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Map from int keys to objects without boxing: keys and values live in two parallel arrays probed
+ * linearly, so an entry costs two array slots instead of a HashMap node and an Integer. Null values
+ * are allowed; use containsKey to tell them from a missing key. Not thread-safe.
+ */
+public final class IntObjectMap<V> {
+
+    public interface Consumer<V> {
+        void accept(int key, V value);
+    }
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int maxFill;
+    // Entries in the table, not counting key 0
+    private int tableSize;
+    private boolean hasZeroKey;
+    private Object zeroValue;
+
+    public IntObjectMap() {
+        this(16);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        maxFill = IntHashing.maxFill(capacity);
+    }
+
+    public int size() {
+        return tableSize + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Slot holding the key, or -1
+    private int find(int key) {
+        int slot = IntHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? (V) zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return slot >= 0 ? (V) values[slot] : defaultValue;
+    }
+
+    // Returns the previous value, or null if there was none
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == 0) {
+            V previous = (V) zeroValue;
+            zeroValue = value;
+            hasZeroKey = true;
+            return previous;
+        }
+        int slot = IntHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++tableSize > maxFill) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    // Returns the current value if the key is present (even if null), otherwise puts the value and returns null
+    public V putIfAbsent(int key, V value) {
+        if (containsKey(key)) {
+            return get(key);
+        }
+        put(key, value);
+        return null;
+    }
+
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    // Returns the removed value, or null if there was none
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == 0) {
+            V previous = (V) zeroValue;
+            zeroValue = null;
+            hasZeroKey = false;
+            return previous;
+        }
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    // Backward-shift deletion: later entries of the probe run move up, so no tombstones are needed
+    private void removeAt(int gap) {
+        tableSize--;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            if (IntHashing.canFill(gap, slot, IntHashing.slot(key, mask))) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    public void clear() {
+        if (tableSize > 0) {
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, null);
+            tableSize = 0;
+        }
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(0, (V) zeroValue);
+        }
+        int[] tableKeys = keys;
+        Object[] tableValues = values;
+        for (int slot = 0; slot < tableKeys.length; slot++) {
+            if (tableKeys[slot] != 0) {
+                action.accept(tableKeys[slot], (V) tableValues[slot]);
+            }
+        }
+    }
+
+    // Keys in no particular order
+    public int[] keys() {
+        int[] result = new int[size()];
+        int i = 0;
+        if (hasZeroKey) {
+            result[i++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    // A copy of the values, in no particular order
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size());
+        if (hasZeroKey) {
+            result.add((V) zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                result.add((V) values[slot]);
+            }
+        }
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = IntHashing.slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
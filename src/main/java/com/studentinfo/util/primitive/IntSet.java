@@ -0,0 +1,162 @@
+package com.studentinfo.util.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of ints without boxing, laid out like {@link IntObjectMap} with the values left out.
+ * Not thread-safe.
+ */
+public final class IntSet {
+    private int[] keys;
+    private int mask;
+    private int maxFill;
+    // Members in the table, not counting 0
+    private int tableSize;
+    private boolean hasZero;
+
+    public IntSet() {
+        this(16);
+    }
+
+    public IntSet(int expectedSize) {
+        allocate(IntHashing.capacityFor(expectedSize));
+    }
+
+    public static IntSet of(int... members) {
+        IntSet set = new IntSet(members.length);
+        for (int member : members) {
+            set.add(member);
+        }
+        return set;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        maxFill = IntHashing.maxFill(capacity);
+    }
+
+    public int size() {
+        return tableSize + (hasZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        int slot = IntHashing.slot(value, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // Returns whether the value was added, i.e. was not already a member
+    public boolean add(int value) {
+        if (value == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = IntHashing.slot(value, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if (++tableSize > maxFill) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    // Returns whether the value was a member
+    public boolean remove(int value) {
+        if (value == 0) {
+            boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+        int gap = IntHashing.slot(value, mask);
+        while (keys[gap] != value) {
+            if (keys[gap] == 0) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+        // Backward-shift deletion, as in IntObjectMap
+        tableSize--;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int next = keys[slot];
+            if (next == 0) {
+                break;
+            }
+            if (IntHashing.canFill(gap, slot, IntHashing.slot(next, mask))) {
+                keys[gap] = next;
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+        return true;
+    }
+
+    public void clear() {
+        if (tableSize > 0) {
+            Arrays.fill(keys, 0);
+            tableSize = 0;
+        }
+        hasZero = false;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    // Members in no particular order
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int i = 0;
+        if (hasZero) {
+            result[i++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        for (int key : oldKeys) {
+            if (key != 0) {
+                int slot = IntHashing.slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.studentinfo.zip;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resolves ZIP codes with the zippopotam.us web service. Timeouts are retried a few times;
+ * every other failure is reported straight away.
+ */
+public class HttpZipResolver implements ZipResolver {
+    private static final String BASE_URL = "https://api.zippopotam.us/us/";
+    private static final int TIMEOUT_MILLIS = 5000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    @Override
+    public ZipLocation resolve(String zipCode) throws IOException {
+        int key = ZipCodes.toKey(zipCode);
+        if (key < 0) {
+            return null;
+        }
+        String zip = ZipCodes.format(key);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return fetch(zip);
+            } catch (SocketTimeoutException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new IOException("No response from the ZIP code service after " + MAX_ATTEMPTS + " attempts.", e);
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("ZIP code lookup interrupted.", ie);
+                }
+            }
+        }
+    }
+
+    private ZipLocation fetch(String zip) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(BASE_URL + zip).openConnection();
+        try {
+            conn.setRequestMethod("GET");
+            conn.setConnectTimeout(TIMEOUT_MILLIS);
+            conn.setReadTimeout(TIMEOUT_MILLIS);
+            int responseCode = conn.getResponseCode();
+            if (responseCode == 404) {
+                return null; // Unknown ZIP code
+            }
+            if (responseCode != 200) {
+                throw new IOException("HTTP Error: " + responseCode);
+            }
+            StringBuilder response = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    response.append(line);
+                }
+            }
+            JSONArray places = new JSONObject(response.toString()).getJSONArray("places");
+            if (places.length() == 0) {
+                return null;
+            }
+            JSONObject place = places.getJSONObject(0);
+            return new ZipLocation(zip, place.getString("place name"), place.getString("state"));
+        } catch (JSONException e) {
+            throw new IOException("Unexpected response from the ZIP code service.", e);
+        } finally {
+            conn.disconnect();
+        }
+    }
+}
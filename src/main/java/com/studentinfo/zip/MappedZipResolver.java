@@ -0,0 +1,88 @@
+package com.studentinfo.zip;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Resolves ZIP codes from a local file built by {@link ZipDatabaseBuilder}, for machines without
+ * internet access. The file is memory-mapped and binary-searched in place, so opening it costs no
+ * parsing, lookups take microseconds, and the OS shares its pages between processes.
+ *
+ * File layout (big-endian):
+ *   int magic, int count,
+ *   count records of (int zip, int placeOffset), sorted by zip,
+ *   places: (unsigned short length, UTF-8 city, unsigned short length, UTF-8 state), each written once
+ *   and shared by every ZIP in that city. placeOffset is relative to the start of the places.
+ */
+public final class MappedZipResolver implements ZipResolver {
+    static final int MAGIC = 0x5A495031; // "ZIP1"
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int placesStart;
+
+    private MappedZipResolver(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a ZIP code database.");
+        }
+        this.buffer = buffer;
+        this.count = buffer.getInt(4);
+        this.placesStart = HEADER_SIZE + count * RECORD_SIZE;
+        if (count < 0 || placesStart > buffer.limit()) {
+            throw new IOException("ZIP code database is truncated.");
+        }
+    }
+
+    public static MappedZipResolver open(Path file) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedZipResolver(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public ZipLocation resolve(String zipCode) {
+        int key = ZipCodes.toKey(zipCode);
+        if (key < 0) {
+            return null;
+        }
+        // Absolute reads only, so concurrent lookups never disturb each other's position
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = HEADER_SIZE + mid * RECORD_SIZE;
+            int zip = buffer.getInt(record);
+            if (zip < key) {
+                low = mid + 1;
+            } else if (zip > key) {
+                high = mid - 1;
+            } else {
+                int place = placesStart + buffer.getInt(record + 4);
+                String city = readString(place);
+                String state = readString(place + 2 + (buffer.getShort(place) & 0xFFFF));
+                return new ZipLocation(ZipCodes.format(key), city, state);
+            }
+        }
+        return null;
+    }
+
+    private String readString(int offset) {
+        int length = buffer.getShort(offset) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + 2);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
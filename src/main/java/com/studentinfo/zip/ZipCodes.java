@@ -0,0 +1,41 @@
+package com.studentinfo.zip;
+
+/**
+ * Parsing shared by the local ZIP database and its builder.
+ */
+final class ZipCodes {
+
+    private ZipCodes() {
+    }
+
+    /**
+     * The five-digit ZIP as an int, or -1 if malformed. Accepts ZIP+4 ("12345-6789"), and shorter
+     * codes are taken as missing their leading zeros, as spreadsheets often save them.
+     */
+    static int toKey(String zipCode) {
+        if (zipCode == null) {
+            return -1;
+        }
+        String zip = zipCode.trim();
+        int dash = zip.indexOf('-');
+        if (dash >= 0) {
+            zip = zip.substring(0, dash);
+        }
+        if (zip.isEmpty() || zip.length() > 5) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = 0; i < zip.length(); i++) {
+            char c = zip.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+
+    static String format(int key) {
+        return String.format("%05d", key);
+    }
+}
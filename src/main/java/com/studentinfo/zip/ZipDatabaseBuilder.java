@@ -0,0 +1,104 @@
+package com.studentinfo.zip;
+
+import com.studentinfo.util.CsvUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the file read by {@link MappedZipResolver} from a CSV of zip,city,state (header row optional).
+ * When a ZIP appears more than once the first row wins. The file is written under a temporary name and
+ * moved into place once complete, so a resolver never maps a half-written database.
+ *
+ * Usage: ZipDatabaseBuilder &lt;source.csv&gt; &lt;target&gt;
+ */
+public class ZipDatabaseBuilder {
+
+    /**
+     * Builds target from the CSV source and returns the number of ZIP codes written.
+     */
+    public int build(Path source, Path target) throws IOException {
+        TreeMap<Integer, String[]> places = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                List<String> fields = CsvUtil.parseLine(line);
+                int key = fields.isEmpty() ? -1 : ZipCodes.toKey(fields.get(0));
+                if (key < 0 && lineNumber == 1) {
+                    continue; // Header
+                }
+                if (key < 0 || fields.size() < 3) {
+                    throw new IOException(source + " line " + lineNumber + ": expected zip,city,state.");
+                }
+                places.putIfAbsent(key, new String[] {fields.get(1).trim(), fields.get(2).trim()});
+            }
+        }
+
+        // Each distinct city/state is stored once
+        ByteArrayOutputStream placeBytes = new ByteArrayOutputStream();
+        DataOutputStream placeOut = new DataOutputStream(placeBytes);
+        Map<String, Integer> placeOffsets = new HashMap<>();
+        int[] offsets = new int[places.size()];
+        int index = 0;
+        for (String[] place : places.values()) {
+            Integer offset = placeOffsets.get(place[0] + '\n' + place[1]);
+            if (offset == null) {
+                offset = placeOut.size();
+                placeOffsets.put(place[0] + '\n' + place[1], offset);
+                placeOut.writeUTF(place[0]); // Length-prefixed; modified UTF-8 equals UTF-8 for place names
+                placeOut.writeUTF(place[1]);
+            }
+            offsets[index++] = offset;
+        }
+
+        Path absoluteTarget = target.toAbsolutePath();
+        Path partial = absoluteTarget.resolveSibling(absoluteTarget.getFileName() + ".part");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(MappedZipResolver.MAGIC);
+            out.writeInt(places.size());
+            index = 0;
+            for (int zip : places.keySet()) {
+                out.writeInt(zip);
+                out.writeInt(offsets[index++]);
+            }
+            placeBytes.writeTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, absoluteTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return places.size();
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: ZipDatabaseBuilder <source.csv> <target>");
+            System.exit(2);
+        }
+        try {
+            long start = System.nanoTime();
+            int count = new ZipDatabaseBuilder().build(Paths.get(args[0]), Paths.get(args[1]));
+            System.out.printf("Wrote %d ZIP codes to %s in %d ms%n", count, args[1], (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("Build failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.studentinfo.zip;
+
+/**
+ * City and state for a ZIP code.
+ */
+public final class ZipLocation {
+    private final String zipCode;
+    private final String city;
+    private final String state;
+
+    public ZipLocation(String zipCode, String city, String state) {
+        this.zipCode = zipCode;
+        this.city = city;
+        this.state = state;
+    }
+
+    public String getZipCode() { return zipCode; }
+
+    public String getCity() { return city; }
+
+    public String getState() { return state; }
+
+    @Override
+    public String toString() {
+        return zipCode + " " + city + ", " + state;
+    }
+}
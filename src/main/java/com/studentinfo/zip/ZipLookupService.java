@@ -0,0 +1,86 @@
+package com.studentinfo.zip;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous front end for a {@link ZipResolver} with a bounded LRU cache. Unknown ZIP codes are
+ * cached too, so a typo is only looked up once; failed lookups (e.g. the service is unreachable) are
+ * not cached. Concurrent requests for the same ZIP share one lookup, and cancelling the future
+ * returned to one caller does not affect the others.
+ */
+public class ZipLookupService {
+    private static final int LOOKUP_THREADS = 2;
+
+    private final ZipResolver resolver;
+    // Access-ordered, so the least recently used ZIP is evicted first; guarded by itself
+    private final Map<Integer, Optional<ZipLocation>> cache;
+    private final Map<Integer, CompletableFuture<ZipLocation>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public ZipLookupService(ZipResolver resolver, int maxCachedZips) {
+        this.resolver = resolver;
+        this.cache = new LinkedHashMap<Integer, Optional<ZipLocation>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Optional<ZipLocation>> eldest) {
+                return size() > maxCachedZips;
+            }
+        };
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(LOOKUP_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "zip-lookup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Completes with the location, or with null when the ZIP code is malformed or unknown.
+     * Cached answers complete immediately.
+     */
+    public CompletableFuture<ZipLocation> lookup(String zipCode) {
+        int key = ZipCodes.toKey(zipCode);
+        if (key < 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        synchronized (cache) {
+            Optional<ZipLocation> cached = cache.get(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached.orElse(null));
+            }
+        }
+        CompletableFuture<ZipLocation> shared = inFlight.computeIfAbsent(key, k -> {
+            CompletableFuture<ZipLocation> future = new CompletableFuture<>();
+            executor.execute(() -> resolve(k, future));
+            return future;
+        });
+        // A copy per caller, so one caller cancelling cannot fail the lookup for the rest
+        return shared.thenApply(location -> location);
+    }
+
+    private void resolve(int key, CompletableFuture<ZipLocation> future) {
+        try {
+            ZipLocation location = resolver.resolve(ZipCodes.format(key));
+            synchronized (cache) {
+                cache.put(key, Optional.ofNullable(location));
+            }
+            inFlight.remove(key);
+            future.complete(location);
+        } catch (Exception e) {
+            inFlight.remove(key);
+            future.completeExceptionally(e);
+        }
+    }
+
+    public int cachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.studentinfo.zip;
+
+import java.io.IOException;
+
+/**
+ * Looks up the city and state for a US ZIP code. Implementations must be safe to call from any thread.
+ */
+public interface ZipResolver {
+
+    /**
+     * Returns the location for the ZIP code, or null when the code is malformed or unknown.
+     * Throws IOException when the lookup itself fails, e.g. the server cannot be reached.
+     */
+    ZipLocation resolve(String zipCode) throws IOException;
+}
@@ -0,0 +1,35 @@
+package com.studentinfo.zip;
+
+import com.studentinfo.util.DatabaseConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Picks the ZIP resolver from the configuration: the local database when zip.database points to a
+ * readable file, otherwise the web service unless zip.online is false.
+ */
+public final class ZipResolvers {
+
+    private ZipResolvers() {
+    }
+
+    public static ZipResolver fromConfig() {
+        Path database = Paths.get(DatabaseConfig.getZipDatabasePath());
+        if (Files.isReadable(database)) {
+            try {
+                return MappedZipResolver.open(database);
+            } catch (IOException e) {
+                System.err.println("WARNING: Could not open ZIP code database " + database + ": " + e.getMessage());
+            }
+        }
+        if (DatabaseConfig.isZipOnlineLookupEnabled()) {
+            return new HttpZipResolver();
+        }
+        return zipCode -> {
+            throw new IOException("No ZIP code database at " + database.toAbsolutePath() + " and online lookup is disabled.");
+        };
+    }
+}
@@ -0,0 +1,30 @@
+-- Indexes for the name-ordered lists and their keyset pages (KeysetQuery), which sort by
+-- (name, id) and continue after the last row with name > ? OR (name = ? AND id > ?).
+--
+-- Course (course_number) and Department (dept_name) need nothing new: their UNIQUE indexes already
+-- hold the primary key, so ORDER BY course_number and ORDER BY dept_name read them in order.
+--
+-- The plans below are the EXPLAIN output expected before and after each index on a populated table,
+-- worked out from the indexes rather than captured from a run; small or skewed tables may differ.
+
+-- StudentDAO.getAllStudents: SELECT * FROM Student ORDER BY name
+-- StudentDAO.getStudentsPage: ... ORDER BY name, student_id LIMIT ?
+--   Expected before: type=ALL, rows=<all students>, Extra: Using filesort
+--                    Every page reads and sorts the whole table before LIMIT applies.
+--   Expected after:  type=index (first page) / range (later pages), key=idx_student_name_id,
+--                    rows=<page size>, no filesort
+ALTER TABLE Student
+    ADD INDEX idx_student_name_id (name, student_id);
+
+-- ProfessorDAO.getAllProfessors: SELECT * FROM Professor ORDER BY prof_name
+-- ProfessorDAO.getProfessorsPage: ... ORDER BY prof_name, prof_id LIMIT ?
+--   Expected before: type=ALL, Extra: Using filesort
+--   Expected after:  type=index / range, key=idx_professor_name_id, no filesort
+-- ProfessorDAO.getProfessorsByDepartmentId: SELECT * FROM Professor WHERE dept_id = ? ORDER BY prof_name
+--   Expected before: type=ref, key=dept_id (the foreign key index), Extra: Using filesort
+--   Expected after:  type=ref, key=idx_professor_dept_name, no filesort; the index also serves the
+--                    foreign key, so MySQL no longer needs its own dept_id index for it
+ALTER TABLE Professor
+    ADD INDEX idx_professor_name_id (prof_name, prof_id);
+ALTER TABLE Professor
+    ADD INDEX idx_professor_dept_name (dept_id, prof_name, prof_id);
@@ -0,0 +1,35 @@
+-- Indexes for the Enrollment queries that filter by course section or by term.
+--
+-- Lookups by student (getEnrollmentsByStudentId, getTranscripts, findEnrollment, updateGrade) are
+-- already served by UNIQUE (student_id, course_id, year, semester).
+--
+-- The plans below are the EXPLAIN output expected before and after each index on a populated table,
+-- worked out from the indexes rather than captured from a run; small or skewed tables may differ.
+
+-- EnrollmentDAO.getCourseRoster:
+--   SELECT ... FROM Enrollment e JOIN Student s ... WHERE e.course_id = ? AND e.year = ? AND e.semester = ?
+-- EnrollmentDAO.updateGrades:
+--   SELECT student_id FROM Enrollment WHERE course_id = ? AND year = ? AND semester = ? FOR UPDATE
+--   Expected before: type=ref, key=course_id (the foreign key index), rows=<every term of the course>,
+--                    Extra: Using where. FOR UPDATE also locks the rows of the other terms it reads.
+--   Expected after:  type=ref, key=idx_enrollment_course_term, key_len covers all three columns,
+--                    rows=<the section>, Extra: Using index for the student_id select, which then locks
+--                    only the section's index records
+-- EnrollmentDAO.getEnrollmentsByCourseId and streamCourseGrades use the course_id prefix, and the
+-- index also serves the course_id foreign key.
+ALTER TABLE Enrollment
+    ADD INDEX idx_enrollment_course_term (course_id, year, semester, student_id);
+
+-- EnrollmentDAO.getTerms: SELECT DISTINCT year, semester FROM Enrollment
+--   Expected before: type=ALL, Extra: Using temporary
+--   Expected after:  type=range, key=idx_enrollment_term_grade, Extra: Using index for group-by
+--                    (a loose index scan that reads one entry per term)
+-- EnrollmentDAO.streamGradedEnrollments for one term (HonorsJob):
+--   ... WHERE e.grade IS NOT NULL AND e.year = ? AND e.semester = ?
+--   Expected before: type=ALL on Enrollment, then eq_ref on Course
+--   Expected after:  type=range on Enrollment, key=idx_enrollment_term_grade, rows=<the term's graded rows>
+-- EnrollmentDAO.streamEnrollmentExport for one term: ... WHERE e.year = ? AND e.semester = ? ORDER BY e.enrollment_id
+--   Expected before: type=index on PRIMARY, reading every enrollment in ID order
+--   Expected after:  type=ref, key=idx_enrollment_term_grade, Extra: Using filesort over the term's rows only
+ALTER TABLE Enrollment
+    ADD INDEX idx_enrollment_term_grade (year, semester, grade);